@@ -0,0 +1,41 @@
+package com.restaurant.cache.actuator;
+
+import com.restaurant.cache.hotkey.HotKeyDetector;
+import com.restaurant.cache.model.HotKey;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The type Hot key endpoint.
+ * <p>
+ * {@code /actuator/hotkeys}, cần thêm {@code hotkeys} vào {@code management.endpoints.web.exposure.include}.
+ * Chỉ được đăng ký khi service có spring-boot-actuator.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnClass(name = "org.springframework.boot.actuate.endpoint.annotation.Endpoint")
+@Endpoint(id = "hotkeys")
+public class HotKeyEndpoint {
+
+    private final HotKeyDetector hotKeyDetector;
+
+    /**
+     * Hot keys map.
+     *
+     * @return the map
+     */
+    @ReadOperation
+    public Map<String, Object> hotKeys() {
+        List<HotKey> hotKeys = hotKeyDetector.hotKeys();
+        return Map.of(
+                "hotKeys", hotKeys,
+                "localCopyHits", hotKeyDetector.copyHits()
+        );
+    }
+}
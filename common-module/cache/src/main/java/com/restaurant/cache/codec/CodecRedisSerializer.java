@@ -0,0 +1,237 @@
+package com.restaurant.cache.codec;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import com.restaurant.cache.metrics.CacheMetrics;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The type Codec redis serializer.
+ * <p>
+ * Value của class đã đăng ký codec binary được ghi dạng:
+ * <pre>
+ * [MAGIC][codec id][flags][u16 độ dài tên class][tên class UTF-8][payload]
+ * </pre>
+ * flags = {@link #FLAG_LIST} khi value là List (tên class là class của phần tử).
+ * Value khác (và dữ liệu cũ không có header) đi qua serializer JSON mặc định.
+ * Tombstone của negative cache là đúng một byte {@link #TOMBSTONE}, đọc ra null.
+ * <p>
+ * {@link #deserialize(byte[], JavaType)} đọc thẳng bytes vào type đích bằng ObjectReader được cache,
+ * không qua object tree trung gian + convertValue.
+ * Kích thước payload ghi / đọc được ghi vào {@link CacheMetrics#CACHE_PAYLOAD_SIZE}, tag theo class của value.
+ */
+public class CodecRedisSerializer implements RedisSerializer<Object> {
+
+    /**
+     * The constant MAGIC, không trùng byte đầu của JSON.
+     */
+    public static final byte MAGIC = (byte) 0xFE;
+    /**
+     * The constant FLAG_OBJECT.
+     */
+    public static final byte FLAG_OBJECT = 0;
+    /**
+     * The constant FLAG_LIST.
+     */
+    public static final byte FLAG_LIST = 1;
+    /**
+     * The constant TOMBSTONE, value một byte đánh dấu model không tồn tại.
+     */
+    public static final byte TOMBSTONE = (byte) 0xFD;
+
+    private static final int FIXED_HEADER_LENGTH = 5;
+    private static final String JSON = ValueCodecType.JSON.name();
+    private static final String WRITE = "write";
+    private static final String READ = "read";
+
+    private final RedisSerializer<Object> fallback;
+    private final ObjectMapper fallbackMapper;
+    private final ValueCodecRegistry registry;
+    private final Map<JavaType, ObjectReader> fallbackReaders = new ConcurrentHashMap<>();
+    private final Map<Class<?>, JavaType> requestedTypes = new ConcurrentHashMap<>();
+    private final Map<Class<?>, JavaType> requestedListTypes = new ConcurrentHashMap<>();
+    private final Map<String, JavaType> elementTypes = new ConcurrentHashMap<>();
+    private final Map<String, JavaType> listTypes = new ConcurrentHashMap<>();
+    private final Map<Class<?>, String> modelTags = new ConcurrentHashMap<>();
+    private final CacheMetrics cacheMetrics = CacheMetrics.global();
+
+    /**
+     * Instantiates a new Codec redis serializer.
+     *
+     * @param fallback       the fallback
+     * @param fallbackMapper mapper của serializer fallback, dùng cho đường đọc typed
+     * @param registry       the registry
+     */
+    public CodecRedisSerializer(RedisSerializer<Object> fallback,
+                                ObjectMapper fallbackMapper,
+                                ValueCodecRegistry registry) {
+        this.fallback = fallback;
+        this.fallbackMapper = fallbackMapper;
+        this.registry = registry;
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (value == null) {
+            return fallback.serialize(null);
+        }
+        byte flags = FLAG_OBJECT;
+        Class<?> type = value.getClass();
+        if (value instanceof List<?> list) {
+            Object first = list.isEmpty() ? null : list.get(0);
+            if (first == null) {
+                return record(type, JSON, fallback.serialize(value));
+            }
+            flags = FLAG_LIST;
+            type = first.getClass();
+        }
+        ValueCodec codec = registry.codecFor(type);
+        if (codec == null) {
+            return record(type, JSON, fallback.serialize(value));
+        }
+        try {
+            byte[] typeName = type.getName().getBytes(StandardCharsets.UTF_8);
+            byte[] payload = codec.encode(value);
+            byte[] bytes = ByteBuffer.allocate(FIXED_HEADER_LENGTH + typeName.length + payload.length)
+                    .put(MAGIC)
+                    .put(codec.type().getId())
+                    .put(flags)
+                    .putShort((short) typeName.length)
+                    .put(typeName)
+                    .put(payload)
+                    .array();
+            return record(type, codec.type().name(), bytes);
+        } catch (Exception e) {
+            throw new SerializationException("Could not encode value of " + type.getName(), e);
+        }
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (isTombstone(bytes)) {
+            return null;
+        }
+        if (bytes == null || bytes.length == 0 || bytes[0] != MAGIC) {
+            return fallback.deserialize(bytes);
+        }
+        ValueCodec codec = registry.codec(ValueCodecType.ofId(bytes[1]));
+        if (codec == null) {
+            throw new SerializationException("Unknown value codec id: " + bytes[1]);
+        }
+        int typeNameLength = ((bytes[3] & 0xFF) << 8) | (bytes[4] & 0xFF);
+        String typeName = new String(bytes, FIXED_HEADER_LENGTH, typeNameLength, StandardCharsets.UTF_8);
+        int offset = FIXED_HEADER_LENGTH + typeNameLength;
+        try {
+            JavaType javaType = bytes[2] == FLAG_LIST ? listType(typeName) : elementType(typeName);
+            return codec.decode(bytes, offset, bytes.length - offset, javaType);
+        } catch (Exception e) {
+            throw new SerializationException("Could not decode value of " + typeName, e);
+        }
+    }
+
+    /**
+     * Deserialize thẳng vào type đích.
+     *
+     * @param <T>   the type parameter
+     * @param bytes the bytes
+     * @param type  the type
+     * @return the value
+     * @throws SerializationException the serialization exception
+     */
+    public <T> T deserialize(byte[] bytes, JavaType type) throws SerializationException {
+        if (bytes == null || bytes.length == 0 || isTombstone(bytes)) {
+            return null;
+        }
+        try {
+            Class<?> modelClass = type.isCollectionLikeType() ? type.getContentType().getRawClass() : type.getRawClass();
+            if (bytes[0] != MAGIC) {
+                cacheMetrics.payloadSize(modelTag(modelClass), READ, JSON, bytes.length);
+                return fallbackReaders.computeIfAbsent(type, fallbackMapper::readerFor).readValue(bytes);
+            }
+            ValueCodec codec = registry.codec(ValueCodecType.ofId(bytes[1]));
+            if (codec == null) {
+                throw new SerializationException("Unknown value codec id: " + bytes[1]);
+            }
+            cacheMetrics.payloadSize(modelTag(modelClass), READ, codec.type().name(), bytes.length);
+            int offset = FIXED_HEADER_LENGTH + (((bytes[3] & 0xFF) << 8) | (bytes[4] & 0xFF));
+            return codec.decode(bytes, offset, bytes.length - offset, type);
+        } catch (SerializationException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new SerializationException("Could not decode value as " + type, e);
+        }
+    }
+
+    /**
+     * Deserialize thẳng vào class đích.
+     *
+     * @param <T>   the type parameter
+     * @param bytes the bytes
+     * @param type  the type
+     * @return the value
+     * @throws SerializationException the serialization exception
+     */
+    public <T> T deserialize(byte[] bytes, Class<T> type) throws SerializationException {
+        return deserialize(bytes, requestedTypes.computeIfAbsent(type, TypeFactory.defaultInstance()::constructType));
+    }
+
+    /**
+     * Deserialize thẳng vào List của class đích.
+     *
+     * @param <T>   the type parameter
+     * @param bytes the bytes
+     * @param type  the element type
+     * @return the list
+     * @throws SerializationException the serialization exception
+     */
+    public <T> List<T> deserializeList(byte[] bytes, Class<T> type) throws SerializationException {
+        return deserialize(bytes, requestedListTypes.computeIfAbsent(type, t ->
+                TypeFactory.defaultInstance().constructCollectionType(List.class, t)));
+    }
+
+    /**
+     * Is tombstone boolean.
+     *
+     * @param bytes the bytes
+     * @return the boolean
+     */
+    public static boolean isTombstone(byte[] bytes) {
+        return bytes != null && bytes.length == 1 && bytes[0] == TOMBSTONE;
+    }
+
+    private byte[] record(Class<?> type, String codec, byte[] bytes) {
+        if (bytes != null) {
+            cacheMetrics.payloadSize(modelTag(type), WRITE, codec, bytes.length);
+        }
+        return bytes;
+    }
+
+    private String modelTag(Class<?> type) {
+        return modelTags.computeIfAbsent(type, t -> t.getSimpleName().toLowerCase());
+    }
+
+    private JavaType elementType(String typeName) {
+        return elementTypes.computeIfAbsent(typeName, name -> {
+            try {
+                ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+                return TypeFactory.defaultInstance().constructType(Class.forName(name, false, classLoader));
+            } catch (ClassNotFoundException e) {
+                throw new SerializationException("Unknown cached type: " + name, e);
+            }
+        });
+    }
+
+    private JavaType listType(String typeName) {
+        return listTypes.computeIfAbsent(typeName, name ->
+                TypeFactory.defaultInstance().constructCollectionType(List.class, elementType(name)));
+    }
+}
@@ -0,0 +1,83 @@
+package com.restaurant.cache.codec;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The type Jackson value codec.
+ * <p>
+ * Codec binary dựa trên Jackson (Smile / CBOR), không bật default typing nên payload không chứa tên class.
+ */
+public class JacksonValueCodec implements ValueCodec {
+
+    private final ValueCodecType type;
+    private final ObjectMapper mapper;
+    private final Map<JavaType, ObjectReader> readers = new ConcurrentHashMap<>();
+
+    /**
+     * Instantiates a new Jackson value codec.
+     *
+     * @param type   the type
+     * @param mapper the mapper
+     */
+    public JacksonValueCodec(ValueCodecType type, ObjectMapper mapper) {
+        this.type = type;
+        this.mapper = mapper
+                .registerModule(new JavaTimeModule())
+                .configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, true)
+                .configure(SerializationFeature.FAIL_ON_EMPTY_BEANS, false)
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    }
+
+    /**
+     * Smile jackson value codec.
+     *
+     * @return the jackson value codec
+     */
+    public static JacksonValueCodec smile() {
+        return new JacksonValueCodec(ValueCodecType.SMILE, new SmileMapper());
+    }
+
+    /**
+     * Cbor jackson value codec.
+     *
+     * @return the jackson value codec
+     */
+    public static JacksonValueCodec cbor() {
+        return new JacksonValueCodec(ValueCodecType.CBOR, new CBORMapper());
+    }
+
+    @Override
+    public ValueCodecType type() {
+        return type;
+    }
+
+    @Override
+    public byte[] encode(Object value) throws IOException {
+        return mapper.writeValueAsBytes(value);
+    }
+
+    @Override
+    public <T> T decode(byte[] data, int offset, int length, JavaType javaType) throws IOException {
+        return readers.computeIfAbsent(javaType, mapper::readerFor).readValue(data, offset, length);
+    }
+
+    /**
+     * Gets mapper.
+     *
+     * @return the mapper
+     */
+    public ObjectMapper getMapper() {
+        return mapper;
+    }
+}
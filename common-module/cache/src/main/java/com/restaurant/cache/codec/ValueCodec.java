@@ -0,0 +1,42 @@
+package com.restaurant.cache.codec;
+
+import com.fasterxml.jackson.databind.JavaType;
+
+import java.io.IOException;
+
+/**
+ * The interface Value codec.
+ * <p>
+ * Mã hóa payload của value trong Redis; thông tin type nằm ở header do {@link CodecRedisSerializer} ghi.
+ */
+public interface ValueCodec {
+
+    /**
+     * Type value codec type.
+     *
+     * @return the value codec type
+     */
+    ValueCodecType type();
+
+    /**
+     * Encode.
+     *
+     * @param value the value
+     * @return the bytes
+     * @throws IOException the io exception
+     */
+    byte[] encode(Object value) throws IOException;
+
+    /**
+     * Decode.
+     *
+     * @param <T>    the type parameter
+     * @param data   the data
+     * @param offset the offset
+     * @param length the length
+     * @param type   the type
+     * @return the value
+     * @throws IOException the io exception
+     */
+    <T> T decode(byte[] data, int offset, int length, JavaType type) throws IOException;
+}
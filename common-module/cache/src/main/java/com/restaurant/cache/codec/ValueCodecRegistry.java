@@ -0,0 +1,68 @@
+package com.restaurant.cache.codec;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The type Value codec registry.
+ * <p>
+ * Codec được chọn theo class của model; class chưa đăng ký dùng {@link ValueCodecType#JSON}.
+ */
+public class ValueCodecRegistry {
+
+    private final Map<Class<?>, ValueCodecType> codecTypes = new ConcurrentHashMap<>();
+    private final Map<ValueCodecType, ValueCodec> codecs = new EnumMap<>(ValueCodecType.class);
+
+    /**
+     * Instantiates a new Value codec registry.
+     */
+    public ValueCodecRegistry() {
+        addCodec(JacksonValueCodec.smile());
+        addCodec(JacksonValueCodec.cbor());
+    }
+
+    /**
+     * Add codec.
+     *
+     * @param codec the codec
+     */
+    public final void addCodec(ValueCodec codec) {
+        codecs.put(codec.type(), codec);
+    }
+
+    /**
+     * Register.
+     *
+     * @param type      the type
+     * @param codecType the codec type
+     */
+    public void register(Class<?> type, ValueCodecType codecType) {
+        if (codecType == null || codecType == ValueCodecType.JSON) {
+            codecTypes.remove(type);
+        } else {
+            codecTypes.put(type, codecType);
+        }
+    }
+
+    /**
+     * Codec for class, null nếu dùng JSON mặc định.
+     *
+     * @param type the type
+     * @return the value codec
+     */
+    public ValueCodec codecFor(Class<?> type) {
+        ValueCodecType codecType = codecTypes.get(type);
+        return codecType == null ? null : codecs.get(codecType);
+    }
+
+    /**
+     * Codec by type.
+     *
+     * @param codecType the codec type
+     * @return the value codec
+     */
+    public ValueCodec codec(ValueCodecType codecType) {
+        return codecs.get(codecType);
+    }
+}
@@ -0,0 +1,44 @@
+package com.restaurant.cache.codec;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * The enum Value codec type.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum ValueCodecType {
+    /**
+     * JSON có type info (GenericJackson2JsonRedisSerializer), định dạng mặc định.
+     */
+    JSON((byte) 0),
+
+    /**
+     * Smile (binary JSON).
+     */
+    SMILE((byte) 1),
+
+    /**
+     * CBOR.
+     */
+    CBOR((byte) 2),
+    ;
+
+    private final byte id;
+
+    /**
+     * Of id value codec type.
+     *
+     * @param id the id
+     * @return the value codec type, null nếu không hợp lệ
+     */
+    public static ValueCodecType ofId(byte id) {
+        for (ValueCodecType type : values()) {
+            if (type.id == id) {
+                return type;
+            }
+        }
+        return null;
+    }
+}
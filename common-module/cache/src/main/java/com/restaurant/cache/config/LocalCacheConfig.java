@@ -0,0 +1,33 @@
+package com.restaurant.cache.config;
+
+import com.restaurant.cache.service.ILocalCacheService;
+import com.restaurant.cache.service.impl.LocalCacheService;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The type Local cache config.
+ * <p>
+ * Lắng nghe kênh invalidation để đồng bộ cache L1 giữa các instance.
+ */
+@Configuration
+public class LocalCacheConfig {
+
+    @Bean
+    public RedisMessageListenerContainer localCacheListenerContainer(RedisConnectionFactory factory,
+                                                                     ILocalCacheService localCacheService) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(factory);
+        container.addMessageListener(
+                (message, pattern) -> localCacheService.onInvalidationMessage(
+                        new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(LocalCacheService.INVALIDATION_CHANNEL)
+        );
+        return container;
+    }
+}
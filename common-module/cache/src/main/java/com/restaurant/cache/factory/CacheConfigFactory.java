@@ -1,6 +1,8 @@
 package com.restaurant.cache.factory;
 
 
+import com.restaurant.cache.codec.ValueCodecType;
+
 import java.time.Duration;
 
 
@@ -32,11 +34,33 @@ public interface CacheConfigFactory<M> {
 
     /**
      * Cache async boolean.
+     * <p>
+     * Bật chế độ refresh-ahead / stale-while-revalidate: khi TTL còn lại nhỏ hơn
+     * {@link #refreshAheadFactor()} thì vẫn trả về giá trị cache và reload ở background;
+     * key được giữ thêm {@link #staleGracePeriod()} sau khi hết hạn để trả về dữ liệu cũ khi load lỗi.
      *
      * @return the boolean
      */
     default boolean cacheAsync() {
-        return true;
+        return false;
+    }
+
+    /**
+     * Refresh ahead factor double.
+     *
+     * @return tỉ lệ TTL còn lại (0..1) bắt đầu reload ở background
+     */
+    default double refreshAheadFactor() {
+        return 0.2;
+    }
+
+    /**
+     * Stale grace period duration.
+     *
+     * @return thời gian được phép trả về dữ liệu cũ khi load lỗi
+     */
+    default Duration staleGracePeriod() {
+        return Duration.ofSeconds(30);
     }
 
     /**
@@ -63,4 +87,152 @@ public interface CacheConfigFactory<M> {
     default Duration cacheListTtl() {
         return Duration.ofSeconds(60);
     }
+
+    /**
+     * Cache negative boolean.
+     * <p>
+     * Khi load model trả về notFound, ghi tombstone vào key của model với {@link #negativeTtl()}
+     * để các lần đọc id không tồn tại tiếp theo không xuống database.
+     *
+     * @return the boolean
+     */
+    default boolean cacheNegative() {
+        return false;
+    }
+
+    /**
+     * Negative ttl duration.
+     *
+     * @return the duration
+     */
+    default Duration negativeTtl() {
+        return Duration.ofSeconds(10);
+    }
+
+    /**
+     * Cache list ids boolean.
+     * <p>
+     * Key list (và key page) chỉ lưu id theo thứ tự; model được đọc bằng một lệnh MGET trên key của từng model
+     * ({@link ICachingFactory#makeSingleKeyCache(Object, Class)}), nên mỗi model chỉ có một bản trong Redis và
+     * update một model không làm list mất hiệu lực. Thiếu bất kỳ model nào thì load lại cả list.
+     * Update làm đổi field mà filter / thứ tự dựa vào vẫn cần {@code clearCacheListModel()}.
+     * Chỉ có tác dụng khi {@link #cacheModel()} bật.
+     *
+     * @return the boolean
+     */
+    default boolean cacheListIds() {
+        return false;
+    }
+
+    /**
+     * Value codec value codec type.
+     * <p>
+     * Định dạng lưu model (và list model) trong Redis.
+     *
+     * @return the value codec type
+     */
+    default ValueCodecType valueCodec() {
+        return ValueCodecType.JSON;
+    }
+
+    /**
+     * Warm model from list boolean.
+     * <p>
+     * Khi load list từ database, ghi luôn key của từng model cùng pipeline với key list.
+     *
+     * @return the boolean
+     */
+    default boolean warmModelFromList() {
+        return false;
+    }
+
+    /**
+     * Single flight boolean.
+     * <p>
+     * Khi cache miss, chỉ một luồng trong JVM load từ database cho mỗi key, các luồng khác chờ kết quả.
+     *
+     * @return the boolean
+     */
+    default boolean singleFlight() {
+        return true;
+    }
+
+    /**
+     * Single flight distributed boolean.
+     * <p>
+     * Dùng thêm Redis lock để gộp việc load giữa các instance.
+     *
+     * @return the boolean
+     */
+    default boolean singleFlightDistributed() {
+        return false;
+    }
+
+    /**
+     * Single flight lock ttl duration.
+     *
+     * @return the duration
+     */
+    default Duration singleFlightLockTtl() {
+        return Duration.ofSeconds(5);
+    }
+
+    /**
+     * Write behind boolean.
+     * <p>
+     * Update chỉ ghi cache và journal local, gom theo id rồi ghi xuống database theo batch
+     * (mỗi {@link #writeBehindFlushInterval()} hoặc khi đủ {@link #writeBehindBatchSize()} id).
+     *
+     * @return the boolean
+     */
+    default boolean writeBehind() {
+        return false;
+    }
+
+    /**
+     * Write behind flush interval duration.
+     *
+     * @return the duration
+     */
+    default Duration writeBehindFlushInterval() {
+        return Duration.ofSeconds(1);
+    }
+
+    /**
+     * Write behind batch size int.
+     *
+     * @return the int
+     */
+    default int writeBehindBatchSize() {
+        return 200;
+    }
+
+    /**
+     * Cache local boolean.
+     * <p>
+     * Bật cache in-process (L1) phía trước Redis cho model.
+     *
+     * @return the boolean
+     */
+    default boolean cacheLocal() {
+        return false;
+    }
+
+    /**
+     * Local maximum size long.
+     *
+     * @return the long
+     */
+    default long localMaximumSize() {
+        return 10_000;
+    }
+
+    /**
+     * Local ttl duration.
+     *
+     * @return the duration
+     */
+    default Duration localTtl() {
+        return Duration.ofSeconds(30);
+    }
 }
@@ -0,0 +1,223 @@
+package com.restaurant.cache.factory;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.restaurant.data.model.IFilter;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * The type Cache keys.
+ * <p>
+ * Mã hóa filter ổn định (khóa từ {@link IFilter#appendCacheKey(StringBuilder)}, hoặc các property sắp xếp
+ * theo tên) rồi băm SHA-256 (lấy 128 bit), hai filter khác nhau gần như không thể trùng key.
+ * Tiền tố chữ thường theo class model được cache, không build lại mỗi lần tạo key.
+ * <p>
+ * Các hàm build key ở đây là quy ước dùng chung giữa {@link ICachingFactory} và service cache reactive,
+ * tham số {@code separator} tương ứng {@link ICachingFactory#getSpecial()}.
+ */
+public final class CacheKeys {
+
+    /**
+     * The constant ALL_FILTER, digest khi filter null.
+     */
+    public static final String ALL_FILTER = "all";
+    /**
+     * The constant DEFAULT_SEPARATOR.
+     */
+    public static final String DEFAULT_SEPARATOR = ":";
+
+    private static final int DIGEST_BYTES = 16;
+    private static final int SORT_DIGEST_BYTES = 8;
+
+    private static final ObjectMapper CANONICAL_MAPPER = JsonMapper.builder()
+            .findAndAddModules()
+            .enable(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY)
+            .enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .disable(SerializationFeature.FAIL_ON_EMPTY_BEANS)
+            .build();
+    private static final FilterKeyWriter FILTER_KEY_WRITER = new FilterKeyWriter(CANONICAL_MAPPER);
+
+    private static final ClassValue<String> MODEL_NAMES = new ClassValue<>() {
+        @Override
+        protected String computeValue(Class<?> type) {
+            return type.getSimpleName().toLowerCase();
+        }
+    };
+    private static final ClassValue<String> MODEL_PREFIXES = new ClassValue<>() {
+        @Override
+        protected String computeValue(Class<?> type) {
+            return MODEL_NAMES.get(type) + DEFAULT_SEPARATOR;
+        }
+    };
+    private static final ClassValue<String> LIST_PREFIXES = new ClassValue<>() {
+        @Override
+        protected String computeValue(Class<?> type) {
+            return listPrefix(MODEL_NAMES.get(type), DEFAULT_SEPARATOR);
+        }
+    };
+
+    private CacheKeys() {
+    }
+
+    /**
+     * Model key string, dạng {@code model:<id>}.
+     *
+     * @param modelClass the model class
+     * @param id         the id
+     * @param separator  the separator
+     * @return the string
+     */
+    public static String modelKey(Class<?> modelClass, Object id, String separator) {
+        String prefix = DEFAULT_SEPARATOR.equals(separator)
+                ? MODEL_PREFIXES.get(modelClass)
+                : MODEL_NAMES.get(modelClass) + separator.toLowerCase();
+        return prefix.concat(id instanceof Number ? id.toString() : String.valueOf(id).toLowerCase());
+    }
+
+    /**
+     * Model key string.
+     *
+     * @param modelClass the model class
+     * @param id         the id
+     * @return the string
+     */
+    public static String modelKey(Class<?> modelClass, Object id) {
+        return modelKey(modelClass, id, DEFAULT_SEPARATOR);
+    }
+
+    /**
+     * List key string, dạng {@code model:cache_list:g<generation>:<digest của filter>}.
+     *
+     * @param modelClass the model class
+     * @param iFilter    the filter
+     * @param generation the generation
+     * @param separator  the separator
+     * @return the string
+     */
+    public static String listKey(Class<?> modelClass, IFilter iFilter, long generation, String separator) {
+        return listPrefix(modelClass, separator) + ICachingFactory.PREFIX_GENERATION + generation
+                + separator + filterDigest(iFilter);
+    }
+
+    /**
+     * List key string.
+     *
+     * @param modelClass the model class
+     * @param iFilter    the filter
+     * @param generation the generation
+     * @return the string
+     */
+    public static String listKey(Class<?> modelClass, IFilter iFilter, long generation) {
+        return listKey(modelClass, iFilter, generation, DEFAULT_SEPARATOR);
+    }
+
+    /**
+     * List generation key string, counter tăng mỗi lần list của model bị invalidate.
+     *
+     * @param modelClass the model class
+     * @param separator  the separator
+     * @return the string
+     */
+    public static String listGenerationKey(Class<?> modelClass, String separator) {
+        return listPrefix(modelClass, separator) + ICachingFactory.KEY_GENERATION;
+    }
+
+    /**
+     * List generation key string.
+     *
+     * @param modelClass the model class
+     * @return the string
+     */
+    public static String listGenerationKey(Class<?> modelClass) {
+        return listGenerationKey(modelClass, DEFAULT_SEPARATOR);
+    }
+
+    /**
+     * Page key string, dạng {@code <listKey>:p<page>_<size>[:<digest của sort>]}.
+     *
+     * @param listKey   the list key
+     * @param pageable  the pageable
+     * @param separator the separator
+     * @return the string
+     */
+    public static String pageKey(String listKey, Pageable pageable, String separator) {
+        String key = listKey + separator + ICachingFactory.PREFIX_PAGE
+                + pageable.getPageNumber() + "_" + pageable.getPageSize();
+        return pageable.getSort().isSorted() ? key + separator + sortDigest(pageable.getSort()) : key;
+    }
+
+    /**
+     * Total key string, tổng số bản ghi của list.
+     *
+     * @param listKey   the list key
+     * @param separator the separator
+     * @return the string
+     */
+    public static String totalKey(String listKey, String separator) {
+        return listKey + separator + ICachingFactory.KEY_TOTAL;
+    }
+
+    private static String listPrefix(Class<?> modelClass, String separator) {
+        return DEFAULT_SEPARATOR.equals(separator)
+                ? LIST_PREFIXES.get(modelClass)
+                : listPrefix(MODEL_NAMES.get(modelClass), separator.toLowerCase());
+    }
+
+    private static String listPrefix(String modelName, String separator) {
+        return modelName + separator + ICachingFactory.PREFIX_CACHE_LIST + separator;
+    }
+
+    /**
+     * Filter digest string.
+     *
+     * @param iFilter the filter
+     * @return the string
+     */
+    public static String filterDigest(IFilter iFilter) {
+        if (iFilter == null) {
+            return ALL_FILTER;
+        }
+        try {
+            return FILTER_KEY_WRITER.digest(iFilter, DIGEST_BYTES);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Can not build cache key for filter " + iFilter.getClass().getName(), e);
+        }
+    }
+
+    /**
+     * Sort digest string, thứ tự các order được giữ nguyên.
+     *
+     * @param sort the sort
+     * @return the string
+     */
+    public static String sortDigest(Sort sort) {
+        StringBuilder canonical = new StringBuilder();
+        for (Sort.Order order : sort) {
+            canonical.append(order.getProperty())
+                    .append(order.isAscending() ? '+' : '-')
+                    .append(order.isIgnoreCase() ? 'i' : 'c')
+                    .append(order.getNullHandling().ordinal())
+                    .append(',');
+        }
+        byte[] hash = sha256().digest(canonical.toString().getBytes(StandardCharsets.UTF_8));
+        return HexFormat.of().formatHex(hash, 0, SORT_DIGEST_BYTES);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,249 @@
+package com.restaurant.cache.factory;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMember;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import com.restaurant.data.model.IFilter;
+
+import java.security.DigestException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Build digest của filter từ khóa chuẩn, ghi vào buffer (StringBuilder, byte[], MessageDigest) mượn từ một pool
+ * nhỏ có giới hạn thay vì serialize filter ra JSON mỗi lần. Không dùng ThreadLocal vì request chạy trên virtual
+ * thread, mỗi thread chỉ sống một request nên buffer của thread không bao giờ được dùng lại.
+ * <p>
+ * Filter không override {@link IFilter#appendCacheKey(StringBuilder)} được ghi theo dạng
+ * {@code name=value;} với các property mà Jackson serialize được (đã sắp xếp theo tên, đọc một lần cho mỗi class).
+ * Property null bị bỏ qua; giá trị kiểu đơn giản, collection và map (key sắp xếp theo chuỗi) ghi trực tiếp,
+ * String có tiền tố độ dài, giá trị khác (mảng, object lồng nhau) ghi bằng JSON chuẩn của {@link CacheKeys}.
+ */
+final class FilterKeyWriter {
+
+    private static final int HASH_BYTES = 32;
+    private static final int INITIAL_KEY_CAPACITY = 256;
+    private static final int MAX_RETAINED_KEY_CAPACITY = 16 * 1024;
+
+    private static final int POOL_CAPACITY = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+
+    private static final BlockingQueue<Buffers> POOL = new ArrayBlockingQueue<>(POOL_CAPACITY);
+
+    private final ObjectMapper mapper;
+    private final ClassValue<Property[]> properties = new ClassValue<>() {
+        @Override
+        protected Property[] computeValue(Class<?> type) {
+            return introspect(type);
+        }
+    };
+
+    /**
+     * Instantiates a new Filter key writer.
+     *
+     * @param mapper mapper chuẩn, dùng để tìm property và ghi giá trị phức tạp
+     */
+    FilterKeyWriter(ObjectMapper mapper) {
+        this.mapper = mapper;
+    }
+
+    /**
+     * Digest string.
+     *
+     * @param filter the filter
+     * @param bytes  số byte đầu của SHA-256 giữ lại
+     * @return hex của digest
+     * @throws JsonProcessingException lỗi khi ghi giá trị phức tạp
+     */
+    String digest(IFilter filter, int bytes) throws JsonProcessingException {
+        Buffers buffers = POOL.poll();
+        if (buffers == null) {
+            buffers = new Buffers();
+        }
+        try {
+            StringBuilder key = buffers.key;
+            key.setLength(0);
+            key.append(filter.getClass().getName()).append('\0');
+            if (!filter.appendCacheKey(key)) {
+                appendProperties(filter, key);
+            }
+            byte[] hash = buffers.hash(key);
+            return HexFormat.of().formatHex(hash, 0, bytes);
+        } finally {
+            if (buffers.key.capacity() > MAX_RETAINED_KEY_CAPACITY) {
+                buffers.key = new StringBuilder(INITIAL_KEY_CAPACITY);
+            }
+            // pool đầy thì bỏ buffer cho GC
+            POOL.offer(buffers);
+        }
+    }
+
+    private void appendProperties(IFilter filter, StringBuilder key) throws JsonProcessingException {
+        for (Property property : properties.get(filter.getClass())) {
+            Object value = property.accessor().getValue(filter);
+            if (value == null) {
+                continue;
+            }
+            key.append(property.name()).append('=');
+            appendValue(key, value);
+            key.append(';');
+        }
+    }
+
+    private void appendValue(StringBuilder key, Object value) throws JsonProcessingException {
+        if (value instanceof CharSequence text) {
+            key.append(text.length()).append(':').append(text);
+        } else if (value instanceof Integer number) {
+            key.append(number.intValue());
+        } else if (value instanceof Long number) {
+            key.append(number.longValue());
+        } else if (value instanceof Boolean flag) {
+            key.append(flag.booleanValue());
+        } else if (value instanceof Enum<?> constant) {
+            key.append(constant.name());
+        } else if (value instanceof Date date) {
+            key.append(date.getTime());
+        } else if (value instanceof Number || value instanceof Character || value instanceof UUID
+                || value instanceof TemporalAccessor) {
+            key.append(value);
+        } else if (value instanceof Collection<?> values) {
+            key.append('[');
+            for (Object element : values) {
+                if (element == null) {
+                    key.append('~');
+                } else {
+                    appendValue(key, element);
+                }
+                key.append(',');
+            }
+            key.append(']');
+        } else if (value instanceof Map<?, ?> map) {
+            appendMap(key, map);
+        } else {
+            key.append(mapper.writeValueAsString(value));
+        }
+    }
+
+    private void appendMap(StringBuilder key, Map<?, ?> map) throws JsonProcessingException {
+        key.append('{');
+        if (map instanceof SortedMap<?, ?> sorted && sorted.comparator() == null) {
+            for (Map.Entry<?, ?> entry : sorted.entrySet()) {
+                appendEntry(key, entry.getKey(), entry.getValue());
+            }
+        } else {
+            Object[] names = map.keySet().toArray();
+            Arrays.sort(names, Comparator.comparing(String::valueOf));
+            for (Object name : names) {
+                appendEntry(key, name, map.get(name));
+            }
+        }
+        key.append('}');
+    }
+
+    private void appendEntry(StringBuilder key, Object name, Object value) throws JsonProcessingException {
+        if (value == null) {
+            return;
+        }
+        if (name == null) {
+            key.append('~');
+        } else {
+            appendValue(key, name);
+        }
+        key.append('=');
+        appendValue(key, value);
+        key.append(',');
+    }
+
+    private Property[] introspect(Class<?> type) {
+        BeanDescription description = mapper.getSerializationConfig().introspect(mapper.constructType(type));
+        List<Property> result = new ArrayList<>();
+        for (BeanPropertyDefinition definition : description.findProperties()) {
+            AnnotatedMember accessor = definition.getAccessor();
+            if (accessor == null) {
+                continue;
+            }
+            accessor.fixAccess(true);
+            result.add(new Property(definition.getName(), accessor));
+        }
+        result.sort(Comparator.comparing(Property::name));
+        return result.toArray(new Property[0]);
+    }
+
+    private record Property(String name, AnnotatedMember accessor) {
+    }
+
+    private static final class Buffers {
+
+        private static final int CHUNK_BYTES = 1024;
+
+        private final MessageDigest digest;
+        private final byte[] bytes = new byte[CHUNK_BYTES];
+        private final byte[] hash = new byte[HASH_BYTES];
+        private StringBuilder key = new StringBuilder(INITIAL_KEY_CAPACITY);
+
+        private Buffers() {
+            try {
+                digest = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 is not available", e);
+            }
+        }
+
+        /**
+         * SHA-256 của key encode UTF-8 (surrogate lẻ ghi thành '?', giống {@code String.getBytes}),
+         * encode từng đoạn vào {@link #bytes} để không tạo String / byte[] trung gian.
+         */
+        private byte[] hash(CharSequence key) {
+            digest.reset();
+            int length = key.length();
+            int position = 0;
+            for (int i = 0; i < length; i++) {
+                if (position > CHUNK_BYTES - 4) {
+                    digest.update(bytes, 0, position);
+                    position = 0;
+                }
+                char c = key.charAt(i);
+                if (c < 0x80) {
+                    bytes[position++] = (byte) c;
+                } else if (c < 0x800) {
+                    bytes[position++] = (byte) (0xC0 | (c >> 6));
+                    bytes[position++] = (byte) (0x80 | (c & 0x3F));
+                } else if (Character.isHighSurrogate(c) && i + 1 < length
+                        && Character.isLowSurrogate(key.charAt(i + 1))) {
+                    int codePoint = Character.toCodePoint(c, key.charAt(++i));
+                    bytes[position++] = (byte) (0xF0 | (codePoint >> 18));
+                    bytes[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                    bytes[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                    bytes[position++] = (byte) (0x80 | (codePoint & 0x3F));
+                } else if (Character.isSurrogate(c)) {
+                    bytes[position++] = '?';
+                } else {
+                    bytes[position++] = (byte) (0xE0 | (c >> 12));
+                    bytes[position++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                    bytes[position++] = (byte) (0x80 | (c & 0x3F));
+                }
+            }
+            digest.update(bytes, 0, position);
+            try {
+                digest.digest(hash, 0, HASH_BYTES);
+            } catch (DigestException e) {
+                throw new IllegalStateException("Can not digest filter key", e);
+            }
+            return hash;
+        }
+    }
+}
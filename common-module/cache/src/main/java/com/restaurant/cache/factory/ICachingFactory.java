@@ -2,15 +2,16 @@ package com.restaurant.cache.factory;
 
 
 import com.restaurant.cache.exception.CacheException;
+import com.restaurant.cache.model.InvalidationReport;
 import com.restaurant.data.model.IFilter;
-import com.restaurant.utils.MapperUtil;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.core.type.TypeReference;
+import org.springframework.data.domain.Pageable;
 
 import java.time.Duration;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 
 
 /**
@@ -25,6 +26,26 @@ public interface ICachingFactory<M> {
      */
     String PREFIX_CACHE_LIST = "cache_list";
 
+    /**
+     * The constant PREFIX_GENERATION.
+     */
+    String PREFIX_GENERATION = "g";
+
+    /**
+     * The constant KEY_GENERATION.
+     */
+    String KEY_GENERATION = "gen";
+
+    /**
+     * The constant PREFIX_PAGE.
+     */
+    String PREFIX_PAGE = "p";
+
+    /**
+     * The constant KEY_TOTAL.
+     */
+    String KEY_TOTAL = "total";
+
     /**
      * Cache put.
      *
@@ -46,6 +67,23 @@ public interface ICachingFactory<M> {
      */
     void cachePutModel(Object key, M value, Duration ttl) throws CacheException;
 
+    /**
+     * Cache put models in one batch.
+     *
+     * @param values the values key -> model
+     */
+    default void cachePutModels(Map<?, M> values) {
+        cachePutModels(values, cacheFactory().singleTtl());
+    }
+
+    /**
+     * Cache put models in one batch.
+     *
+     * @param values the values key -> model
+     * @param ttl    the ttl
+     */
+    void cachePutModels(Map<?, M> values, Duration ttl);
+
     /**
      * Gets cache model.
      *
@@ -54,6 +92,14 @@ public interface ICachingFactory<M> {
      */
     M getCacheModel(Object key);
 
+    /**
+     * Gets cache models.
+     *
+     * @param keys the keys
+     * @return the map key -> model, chỉ chứa các key có trong cache
+     */
+    Map<Object, M> getCacheModels(Collection<?> keys);
+
     /**
      * Cache factory cache config factory.
      *
@@ -69,7 +115,7 @@ public interface ICachingFactory<M> {
      * @return the string
      */
     default String makeSingleKeyCache(Object key, Class<M> modelClass) {
-        return (modelClass.getSimpleName() + getSpecial() + key).toLowerCase();
+        return CacheKeys.modelKey(modelClass, key, getSpecial());
     }
 
     /**
@@ -89,6 +135,14 @@ public interface ICachingFactory<M> {
      */
     void clearCacheModelByKey(Object key) throws CacheException;
 
+    /**
+     * clear cache for models by keys in one batch
+     *
+     * @param keys the keys
+     * @throws CacheException the cache exception
+     */
+    void clearCacheModelByKeys(Collection<?> keys) throws CacheException;
+
     /**
      * clear all cache for model by pattern
      *
@@ -97,6 +151,13 @@ public interface ICachingFactory<M> {
      */
     void clearCacheModelByPattern() throws CacheException, JsonProcessingException;
 
+    /**
+     * clear all cache for model by pattern asynchronously
+     *
+     * @return the completable future
+     */
+    CompletableFuture<InvalidationReport> clearCacheModelByPatternAsync();
+
     /**
      * Clear cache list model.
      *
@@ -145,22 +206,54 @@ public interface ICachingFactory<M> {
      * @return the string
      */
     default String makeKeyCacheList(Class<M> mClass, IFilter iFilter) {
-        if (iFilter == null) {
-            return String.valueOf(
-                    Objects.hashCode(
-                            mClass.getSimpleName() + getSpecial() + PREFIX_CACHE_LIST
-                    )
-            ).toLowerCase();
-        }
-        final Map<String, Object> map = MapperUtil.convertValue(
-                iFilter,
-                new TypeReference<>() {
-                }
-        );
-        return String.valueOf(
-                Objects.hashCode(
-                        mClass.getSimpleName() + getSpecial() + PREFIX_CACHE_LIST + map.toString()
-                )
-        ).toLowerCase();
+        return makeKeyCacheList(mClass, iFilter, 0);
+    }
+
+    /**
+     * Make key cache list string.
+     * <p>
+     * Dạng {@code model:cache_list:g<generation>:<digest của filter>}; tăng generation làm mọi list cũ
+     * của model không còn được đọc nữa (hết hạn theo TTL).
+     *
+     * @param mClass     the m class
+     * @param iFilter    the filter
+     * @param generation the generation
+     * @return the string
+     */
+    default String makeKeyCacheList(Class<M> mClass, IFilter iFilter, long generation) {
+        return CacheKeys.listKey(mClass, iFilter, generation, getSpecial());
+    }
+
+    /**
+     * Make key cache page string.
+     * <p>
+     * Dạng {@code <listKey>:p<page>_<size>[:<digest của sort>]}, dùng chung generation với list.
+     *
+     * @param listKey  key list, tạo bởi {@link #makeKeyCacheList(Class, IFilter)}
+     * @param pageable the pageable
+     * @return the string
+     */
+    default String makeKeyCachePage(String listKey, Pageable pageable) {
+        return CacheKeys.pageKey(listKey, pageable, getSpecial());
+    }
+
+    /**
+     * Make key cache total string, tổng số bản ghi của list (dùng chung cho mọi page).
+     *
+     * @param listKey key list, tạo bởi {@link #makeKeyCacheList(Class, IFilter)}
+     * @return the string
+     */
+    default String makeKeyCacheTotal(String listKey) {
+        return CacheKeys.totalKey(listKey, getSpecial());
+    }
+
+    /**
+     * Make key list generation string.
+     *
+     * @param mClass the m class
+     * @return the string
+     */
+    default String makeKeyListGeneration(Class<M> mClass) {
+        return CacheKeys.listGenerationKey(mClass, getSpecial());
     }
 }
@@ -0,0 +1,343 @@
+package com.restaurant.cache.hotkey;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.restaurant.cache.metrics.CacheMetrics;
+import com.restaurant.cache.model.HotKey;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The type Hot key detector.
+ * <p>
+ * Đếm tần suất đọc key bằng count-min sketch có lấy mẫu (1 trong {@link #DEFAULT_SAMPLE_RATE} lần đọc),
+ * mỗi {@link #DEFAULT_WINDOW} các bộ đếm giảm một nửa để chỉ phản ánh truy cập gần đây.
+ * Key có số lần đọc ước lượng vượt {@link #DEFAULT_THRESHOLD} được đưa vào top-K
+ * (tối đa {@link #DEFAULT_TOP_K} key, đẩy key có ước lượng nhỏ nhất ra khi đầy).
+ * <p>
+ * Bytes của hot key được giữ một bản in-process trong {@link #DEFAULT_COPY_TTL}. Ghi / xóa trên node này evict
+ * bản copy ngay, message invalidation từ node khác cũng evict bản copy; key không có message invalidation
+ * (model không bật local cache) thì node khác có thể đọc dữ liệu cũ tối đa một TTL copy.
+ * <p>
+ * Mỗi lần evict tăng write epoch của key (chia theo stripe, {@link #EPOCH_STRIPES} bộ đếm). Caller đọc
+ * {@link #writeEpoch(String)} trước khi đọc Redis và truyền lại cho {@link #putCopy(String, byte[], Duration, long)};
+ * epoch đã đổi (có lần ghi / xóa xen giữa) thì bản copy bị bỏ, không đưa bytes cũ trở lại sau lần evict.
+ */
+@Slf4j
+@Component
+public class HotKeyDetector {
+
+    /**
+     * The constant DEFAULT_SAMPLE_RATE.
+     */
+    public static final int DEFAULT_SAMPLE_RATE = 8;
+    /**
+     * The constant DEFAULT_THRESHOLD, số lần đọc ước lượng (đã suy giảm) để coi là hot.
+     */
+    public static final long DEFAULT_THRESHOLD = 1_000;
+    /**
+     * The constant DEFAULT_TOP_K.
+     */
+    public static final int DEFAULT_TOP_K = 32;
+    /**
+     * The constant DEFAULT_WINDOW.
+     */
+    public static final Duration DEFAULT_WINDOW = Duration.ofSeconds(10);
+    /**
+     * The constant DEFAULT_COPY_TTL.
+     */
+    public static final Duration DEFAULT_COPY_TTL = Duration.ofSeconds(1);
+
+    /**
+     * The constant EPOCH_STRIPES.
+     */
+    public static final int EPOCH_STRIPES = 1 << 10;
+
+    private static final int DEPTH = 4;
+    private static final int WIDTH = 1 << 12;
+
+    private final int sampleRate;
+    private final long threshold;
+    private final int topK;
+    private final long windowNanos;
+    private final AtomicLongArray counters = new AtomicLongArray(DEPTH * WIDTH);
+    private final Map<String, Long> hotKeys = new ConcurrentHashMap<>();
+    private final AtomicLong nextDecay;
+    private final Cache<String, HotCopy> copies;
+    private final LongAdder copyHits = new LongAdder();
+    private final AtomicLongArray epochs = new AtomicLongArray(EPOCH_STRIPES);
+
+    /**
+     * Instantiates a new Hot key detector with default settings.
+     */
+    public HotKeyDetector() {
+        this(DEFAULT_SAMPLE_RATE, DEFAULT_THRESHOLD, DEFAULT_TOP_K, DEFAULT_WINDOW, DEFAULT_COPY_TTL);
+    }
+
+    /**
+     * Instantiates a new Hot key detector.
+     *
+     * @param sampleRate đếm 1 trong sampleRate lần đọc
+     * @param threshold  the threshold
+     * @param topK       the top k
+     * @param window     chu kỳ giảm một nửa bộ đếm
+     * @param copyTtl    TTL bản copy in-process
+     */
+    public HotKeyDetector(int sampleRate, long threshold, int topK, Duration window, Duration copyTtl) {
+        this.sampleRate = Math.max(1, sampleRate);
+        this.threshold = threshold;
+        this.topK = topK;
+        this.windowNanos = window.toNanos();
+        this.nextDecay = new AtomicLong(System.nanoTime() + windowNanos);
+        this.copies = Caffeine.newBuilder()
+                .maximumSize(topK * 2L)
+                .expireAfterWrite(copyTtl)
+                .build();
+        CacheMetrics.global().hotKeys(hotKeys::size);
+    }
+
+    /**
+     * Ghi nhận một lần đọc key.
+     *
+     * @param key the key
+     * @return true nếu key đang hot
+     */
+    public boolean record(String key) {
+        maybeDecay();
+        if (sampleRate > 1 && ThreadLocalRandom.current().nextInt(sampleRate) != 0) {
+            return hotKeys.containsKey(key);
+        }
+        long estimate = increment(key) * sampleRate;
+        if (estimate >= threshold) {
+            promote(key, estimate);
+        }
+        return hotKeys.containsKey(key);
+    }
+
+    /**
+     * Is hot boolean.
+     *
+     * @param key the key
+     * @return the boolean
+     */
+    public boolean isHot(String key) {
+        return hotKeys.containsKey(key);
+    }
+
+    /**
+     * Bytes của bản copy in-process.
+     *
+     * @param key the key
+     * @return the bytes, null nếu không có
+     */
+    public byte[] getCopy(String key) {
+        HotCopy copy = copies.getIfPresent(key);
+        if (copy == null) {
+            return null;
+        }
+        copyHits.increment();
+        return copy.value();
+    }
+
+    /**
+     * Bản copy in-process kèm TTL còn lại của key trên Redis.
+     *
+     * @param key the key
+     * @return the copy, null nếu không có hoặc bản copy không biết TTL
+     */
+    public HotCopy getCopyWithTtl(String key) {
+        HotCopy copy = copies.getIfPresent(key);
+        if (copy == null || copy.expireAt() < 0) {
+            return null;
+        }
+        copyHits.increment();
+        return copy;
+    }
+
+    /**
+     * Write epoch của key, đọc trước khi đọc Redis.
+     *
+     * @param key the key
+     * @return the epoch
+     */
+    public long writeEpoch(String key) {
+        return epochs.get(stripe(key));
+    }
+
+    /**
+     * Giữ bản copy nếu key đang hot và không có lần evict nào từ lúc đọc epoch.
+     *
+     * @param key   the key
+     * @param value the value
+     * @param ttl   TTL còn lại trên Redis, null nếu không biết
+     * @param epoch {@link #writeEpoch(String)} đọc trước khi đọc Redis
+     */
+    public void putCopy(String key, byte[] value, Duration ttl, long epoch) {
+        if (value == null || !hotKeys.containsKey(key)) {
+            return;
+        }
+        long expireAt = ttl == null ? -1 : System.currentTimeMillis() + ttl.toMillis();
+        HotCopy copy = new HotCopy(value, expireAt);
+        copies.asMap().compute(key, (k, current) -> epochs.get(stripe(k)) == epoch ? copy : current);
+    }
+
+    /**
+     * Evict bản copy của key.
+     *
+     * @param key the key
+     */
+    public void evict(String key) {
+        int stripe = stripe(key);
+        // tăng epoch cùng lúc với xóa bản copy, putCopy của lần đọc trước đó sẽ bị bỏ
+        copies.asMap().compute(key, (k, current) -> {
+            epochs.incrementAndGet(stripe);
+            return null;
+        });
+    }
+
+    /**
+     * Evict mọi bản copy.
+     */
+    public void evictAll() {
+        for (int i = 0; i < EPOCH_STRIPES; i++) {
+            epochs.incrementAndGet(i);
+        }
+        copies.invalidateAll();
+    }
+
+    /**
+     * Danh sách hot key hiện tại, sắp xếp theo ước lượng giảm dần.
+     *
+     * @return the list
+     */
+    public List<HotKey> hotKeys() {
+        List<HotKey> result = new ArrayList<>(hotKeys.size());
+        hotKeys.forEach((key, estimate) ->
+                result.add(new HotKey(key, estimate, copies.getIfPresent(key) != null)));
+        result.sort(Comparator.comparingLong(HotKey::estimatedReads).reversed());
+        return result;
+    }
+
+    /**
+     * Số lần đọc được phục vụ từ bản copy in-process.
+     *
+     * @return the long
+     */
+    public long copyHits() {
+        return copyHits.sum();
+    }
+
+    private long increment(String key) {
+        int h1 = key.hashCode();
+        int h2 = spread(h1);
+        long min = Long.MAX_VALUE;
+        for (int i = 0; i < DEPTH; i++) {
+            int index = i * WIDTH + ((h1 + i * h2) & (WIDTH - 1));
+            min = Math.min(min, counters.incrementAndGet(index));
+        }
+        return min;
+    }
+
+    private long estimate(String key) {
+        int h1 = key.hashCode();
+        int h2 = spread(h1);
+        long min = Long.MAX_VALUE;
+        for (int i = 0; i < DEPTH; i++) {
+            min = Math.min(min, counters.get(i * WIDTH + ((h1 + i * h2) & (WIDTH - 1))));
+        }
+        return min * sampleRate;
+    }
+
+    private void promote(String key, long estimate) {
+        if (hotKeys.replace(key, estimate) != null) {
+            return;
+        }
+        synchronized (hotKeys) {
+            if (hotKeys.size() >= topK) {
+                Map.Entry<String, Long> coldest = null;
+                for (Map.Entry<String, Long> entry : hotKeys.entrySet()) {
+                    if (coldest == null || entry.getValue() < coldest.getValue()) {
+                        coldest = entry;
+                    }
+                }
+                if (coldest == null || coldest.getValue() >= estimate) {
+                    return;
+                }
+                demote(coldest.getKey());
+            }
+            if (hotKeys.putIfAbsent(key, estimate) == null) {
+                log.info("Promote hot key: {}, estimated reads: {}", key, estimate);
+            }
+        }
+    }
+
+    private void demote(String key) {
+        hotKeys.remove(key);
+        copies.invalidate(key);
+        log.info("Demote hot key: {}", key);
+    }
+
+    private void maybeDecay() {
+        long now = System.nanoTime();
+        long next = nextDecay.get();
+        if (now - next < 0 || !nextDecay.compareAndSet(next, now + windowNanos)) {
+            return;
+        }
+        synchronized (hotKeys) {
+            for (String key : List.copyOf(hotKeys.keySet())) {
+                long estimate = estimate(key);
+                if (estimate < threshold) {
+                    demote(key);
+                } else {
+                    hotKeys.put(key, estimate);
+                }
+            }
+        }
+        for (int i = 0; i < counters.length(); i++) {
+            counters.getAndUpdate(i, count -> count >>> 1);
+        }
+    }
+
+    private static int stripe(String key) {
+        // spread() luôn set bit thấp nhất, lấy các bit cao
+        return (spread(key.hashCode()) >>> 16) & (EPOCH_STRIPES - 1);
+    }
+
+    private static int spread(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h | 1;
+    }
+
+    /**
+     * The type Hot copy.
+     *
+     * @param value    bytes đọc từ Redis
+     * @param expireAt thời điểm key hết hạn trên Redis (epoch millis), -1 nếu không biết
+     */
+    public record HotCopy(byte[] value, long expireAt) {
+
+        /**
+         * Remaining ttl duration.
+         *
+         * @return the duration
+         */
+        public Duration remainingTtl() {
+            return Duration.ofMillis(Math.max(0, expireAt - System.currentTimeMillis()));
+        }
+    }
+}
@@ -0,0 +1,280 @@
+package com.restaurant.cache.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * The type Cache metrics.
+ * <p>
+ * Meter của cache và data factory, tag theo model. Mặc định ghi vào {@link Metrics#globalRegistry};
+ * Spring Boot Actuator gắn registry của nó vào global registry
+ * ({@code management.metrics.use-global-registry}, mặc định true) nên các meter hiện ở endpoint {@code metrics}.
+ * Meter được giữ trong map theo tên + tag để hot path không phải build lại.
+ */
+public final class CacheMetrics {
+
+    /**
+     * The constant CACHE_GETS, counter đọc cache (tag result = hit | miss | tombstone).
+     */
+    public static final String CACHE_GETS = "cache.gets";
+    /**
+     * The constant CACHE_ERRORS.
+     */
+    public static final String CACHE_ERRORS = "cache.errors";
+    /**
+     * The constant CACHE_PAYLOAD_SIZE, số byte value ghi / đọc từ Redis.
+     */
+    public static final String CACHE_PAYLOAD_SIZE = "cache.payload.size";
+    /**
+     * The constant CACHE_REDIS_LATENCY.
+     */
+    public static final String CACHE_REDIS_LATENCY = "cache.redis.latency";
+    /**
+     * The constant FACTORY_LOAD, latency load từ database.
+     */
+    public static final String FACTORY_LOAD = "data.factory.load";
+    /**
+     * The constant WRITE_BEHIND_LAG, thời gian từ lần update đầu tiên chưa flush của một id đến khi ghi xong database.
+     */
+    public static final String WRITE_BEHIND_LAG = "data.factory.write_behind.lag";
+    /**
+     * The constant WRITE_BEHIND_FLUSHED.
+     */
+    public static final String WRITE_BEHIND_FLUSHED = "data.factory.write_behind.flushed";
+    /**
+     * The constant WRITE_BEHIND_PENDING.
+     */
+    public static final String WRITE_BEHIND_PENDING = "data.factory.write_behind.pending";
+    /**
+     * The constant CACHE_HOT_KEYS, số key đang được coi là hot trên instance.
+     */
+    public static final String CACHE_HOT_KEYS = "cache.hot.keys";
+
+    /**
+     * The constant TAG_MODEL.
+     */
+    public static final String TAG_MODEL = "model";
+    /**
+     * The constant HIT.
+     */
+    public static final String HIT = "hit";
+    /**
+     * The constant MISS.
+     */
+    public static final String MISS = "miss";
+    /**
+     * The constant TOMBSTONE.
+     */
+    public static final String TOMBSTONE = "tombstone";
+
+    private static final CacheMetrics GLOBAL = new CacheMetrics(Metrics.globalRegistry);
+
+    private final MeterRegistry registry;
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<String, DistributionSummary> summaries = new ConcurrentHashMap<>();
+
+    /**
+     * Instantiates a new Cache metrics.
+     *
+     * @param registry the registry
+     */
+    public CacheMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Global cache metrics.
+     *
+     * @return the cache metrics
+     */
+    public static CacheMetrics global() {
+        return GLOBAL;
+    }
+
+    /**
+     * Đếm một lần đọc cache.
+     *
+     * @param model  the model
+     * @param kind   model | list
+     * @param result hit | miss | tombstone
+     */
+    public void get(String model, String kind, String result) {
+        get(model, kind, result, 1);
+    }
+
+    /**
+     * Đếm nhiều lần đọc cache cùng kết quả (multi get).
+     *
+     * @param model  the model
+     * @param kind   model | list
+     * @param result hit | miss | tombstone
+     * @param amount the amount
+     */
+    public void get(String model, String kind, String result, long amount) {
+        if (amount <= 0) {
+            return;
+        }
+        counters.computeIfAbsent(CACHE_GETS + '|' + model + '|' + kind + '|' + result, k ->
+                Counter.builder(CACHE_GETS)
+                        .description("Cache reads by result")
+                        .tag(TAG_MODEL, model)
+                        .tag("kind", kind)
+                        .tag("result", result)
+                        .register(registry)
+        ).increment(amount);
+    }
+
+    /**
+     * Đếm một lỗi cache.
+     *
+     * @param model     the model
+     * @param operation the operation
+     */
+    public void error(String model, String operation) {
+        counters.computeIfAbsent(CACHE_ERRORS + '|' + model + '|' + operation, k ->
+                Counter.builder(CACHE_ERRORS)
+                        .description("Cache operations that failed and were swallowed")
+                        .tag(TAG_MODEL, model)
+                        .tag("operation", operation)
+                        .register(registry)
+        ).increment();
+    }
+
+    /**
+     * Ghi kích thước payload.
+     *
+     * @param model     the model
+     * @param direction write | read
+     * @param codec     the codec
+     * @param bytes     the bytes
+     */
+    public void payloadSize(String model, String direction, String codec, int bytes) {
+        summaries.computeIfAbsent(CACHE_PAYLOAD_SIZE + '|' + model + '|' + direction + '|' + codec, k ->
+                DistributionSummary.builder(CACHE_PAYLOAD_SIZE)
+                        .description("Serialized cache value size")
+                        .baseUnit("bytes")
+                        .tag(TAG_MODEL, model)
+                        .tag("direction", direction)
+                        .tag("codec", codec)
+                        .register(registry)
+        ).record(bytes);
+    }
+
+    /**
+     * Ghi latency một lệnh Redis.
+     *
+     * @param model       the model, lấy từ prefix của key
+     * @param command     the command
+     * @param nanoseconds the nanoseconds
+     */
+    public void redisLatency(String model, String command, long nanoseconds) {
+        timers.computeIfAbsent(CACHE_REDIS_LATENCY + '|' + model + '|' + command, k ->
+                Timer.builder(CACHE_REDIS_LATENCY)
+                        .description("Redis round trip latency")
+                        .tag(TAG_MODEL, model)
+                        .tag("command", command)
+                        .register(registry)
+        ).record(nanoseconds, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Ghi latency load từ database.
+     *
+     * @param model       the model
+     * @param operation   the operation
+     * @param outcome     success | not_found | error
+     * @param nanoseconds the nanoseconds
+     */
+    public void load(String model, String operation, String outcome, long nanoseconds) {
+        timers.computeIfAbsent(FACTORY_LOAD + '|' + model + '|' + operation + '|' + outcome, k ->
+                Timer.builder(FACTORY_LOAD)
+                        .description("Data factory load latency")
+                        .tag(TAG_MODEL, model)
+                        .tag("operation", operation)
+                        .tag("outcome", outcome)
+                        .register(registry)
+        ).record(nanoseconds, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Ghi flush lag của write-behind.
+     *
+     * @param model       the model
+     * @param nanoseconds the nanoseconds
+     */
+    public void writeBehindLag(String model, long nanoseconds) {
+        timers.computeIfAbsent(WRITE_BEHIND_LAG + '|' + model, k ->
+                Timer.builder(WRITE_BEHIND_LAG)
+                        .description("Write-behind flush lag")
+                        .tag(TAG_MODEL, model)
+                        .register(registry)
+        ).record(nanoseconds, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Đếm số model write-behind đã flush.
+     *
+     * @param model   the model
+     * @param outcome success | error
+     * @param amount  the amount
+     */
+    public void writeBehindFlushed(String model, String outcome, long amount) {
+        counters.computeIfAbsent(WRITE_BEHIND_FLUSHED + '|' + model + '|' + outcome, k ->
+                Counter.builder(WRITE_BEHIND_FLUSHED)
+                        .description("Write-behind models flushed to the database")
+                        .tag(TAG_MODEL, model)
+                        .tag("outcome", outcome)
+                        .register(registry)
+        ).increment(amount);
+    }
+
+    /**
+     * Gauge số id write-behind đang chờ flush.
+     *
+     * @param model   the model
+     * @param pending the pending
+     */
+    public void writeBehindPending(String model, Supplier<Number> pending) {
+        Gauge.builder(WRITE_BEHIND_PENDING, pending)
+                .description("Write-behind ids waiting for flush")
+                .tag(TAG_MODEL, model)
+                .strongReference(true)
+                .register(registry);
+    }
+
+    /**
+     * Gauge số hot key.
+     *
+     * @param hotKeys the hot keys
+     */
+    public void hotKeys(Supplier<Number> hotKeys) {
+        Gauge.builder(CACHE_HOT_KEYS, hotKeys)
+                .description("Keys currently promoted to a local hot copy")
+                .strongReference(true)
+                .register(registry);
+    }
+
+    /**
+     * Model tag từ cache key: phần trước dấu ':' đầu tiên.
+     *
+     * @param key the key
+     * @return the string
+     */
+    public static String modelOfKey(String key) {
+        if (key == null) {
+            return "unknown";
+        }
+        int separator = key.indexOf(':');
+        return separator > 0 ? key.substring(0, separator) : key;
+    }
+}
@@ -0,0 +1,35 @@
+package com.restaurant.cache.model;
+
+import java.time.Duration;
+
+/**
+ * The type Cache entry.
+ *
+ * @param <T>          the type parameter
+ * @param value        the value
+ * @param remainingTtl TTL còn lại trên Redis, null nếu không biết (đọc từ local cache) hoặc key không có TTL
+ * @param tombstone    key đang giữ tombstone (negative cache), value luôn null
+ */
+public record CacheEntry<T>(T value, Duration remainingTtl, boolean tombstone) {
+
+    /**
+     * Instantiates a new Cache entry.
+     *
+     * @param value        the value
+     * @param remainingTtl the remaining ttl
+     */
+    public CacheEntry(T value, Duration remainingTtl) {
+        this(value, remainingTtl, false);
+    }
+
+    /**
+     * Tombstone cache entry.
+     *
+     * @param <T>          the type parameter
+     * @param remainingTtl the remaining ttl
+     * @return the cache entry
+     */
+    public static <T> CacheEntry<T> tombstone(Duration remainingTtl) {
+        return new CacheEntry<>(null, remainingTtl, true);
+    }
+}
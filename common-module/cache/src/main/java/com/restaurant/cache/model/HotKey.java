@@ -0,0 +1,13 @@
+package com.restaurant.cache.model;
+
+/**
+ * The type Hot key.
+ *
+ * @param key            the key
+ * @param estimatedReads số lần đọc ước lượng (đã suy giảm theo window)
+ * @param localCopy      đang có bản copy in-process hay không
+ */
+public record HotKey(String key,
+                     long estimatedReads,
+                     boolean localCopy) {
+}
@@ -0,0 +1,23 @@
+package com.restaurant.cache.model;
+
+import java.time.Duration;
+
+/**
+ * The type Invalidation report.
+ * <p>
+ * Tiến độ / kết quả của một lần xóa key theo pattern bằng SCAN + UNLINK.
+ *
+ * @param pattern the pattern
+ * @param scanned số key SCAN trả về
+ * @param deleted số key UNLINK thực sự xóa
+ * @param batches số batch UNLINK đã gửi
+ * @param elapsed thời gian đã chạy
+ * @param done    đã duyệt hết cursor hay chưa
+ */
+public record InvalidationReport(String pattern,
+                                 long scanned,
+                                 long deleted,
+                                 int batches,
+                                 Duration elapsed,
+                                 boolean done) {
+}
@@ -0,0 +1,33 @@
+package com.restaurant.cache.service;
+
+import java.time.Duration;
+
+/**
+ * The interface Cache batch writer.
+ * <p>
+ * Gom nhiều lệnh SET (mỗi key có TTL riêng) và gửi qua Redis pipeline theo từng chunk.
+ * Writer không thread-safe, dùng trong một luồng rồi {@link #close()} để flush phần còn lại.
+ */
+public interface ICacheBatchWriter extends AutoCloseable {
+
+    /**
+     * Put.
+     *
+     * @param key   the key
+     * @param value the value
+     * @param ttl   the ttl
+     * @return the cache batch writer
+     */
+    ICacheBatchWriter put(String key, Object value, Duration ttl);
+
+    /**
+     * Flush pending writes.
+     */
+    void flush();
+
+    /**
+     * Flush pending writes.
+     */
+    @Override
+    void close();
+}
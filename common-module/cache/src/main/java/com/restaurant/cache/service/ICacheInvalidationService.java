@@ -0,0 +1,42 @@
+package com.restaurant.cache.service;
+
+import com.restaurant.cache.model.InvalidationReport;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * The interface Cache invalidation service.
+ * <p>
+ * Xóa key theo pattern bằng SCAN (cursor, batch giới hạn) + UNLINK thay cho KEYS + DEL.
+ */
+public interface ICacheInvalidationService {
+
+    /**
+     * Unlink all keys matching pattern.
+     *
+     * @param pattern the pattern
+     * @return the invalidation report
+     */
+    default InvalidationReport unlinkPattern(String pattern) {
+        return unlinkPattern(pattern, null);
+    }
+
+    /**
+     * Unlink all keys matching pattern.
+     *
+     * @param pattern          the pattern
+     * @param progressListener the progress listener, called after each batch (nullable)
+     * @return the invalidation report
+     */
+    InvalidationReport unlinkPattern(String pattern, Consumer<InvalidationReport> progressListener);
+
+    /**
+     * Unlink all keys matching pattern on the invalidation executor.
+     *
+     * @param pattern          the pattern
+     * @param progressListener the progress listener (nullable)
+     * @return the completable future
+     */
+    CompletableFuture<InvalidationReport> unlinkPatternAsync(String pattern, Consumer<InvalidationReport> progressListener);
+}
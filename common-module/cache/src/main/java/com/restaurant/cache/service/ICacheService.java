@@ -1,9 +1,15 @@
 package com.restaurant.cache.service;
 
+import com.restaurant.cache.codec.ValueCodecType;
 import com.restaurant.cache.exception.CacheException;
+import com.restaurant.cache.model.CacheEntry;
+import com.restaurant.cache.model.InvalidationReport;
 
 import java.time.Duration;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * The interface Cache service.
@@ -29,6 +35,50 @@ public interface ICacheService {
      */
     <T> List<T> getList(String key, Class<T> type);
 
+    /**
+     * Gets cache with remaining TTL (GET + PTTL in one pipeline).
+     *
+     * @param <T>  the type parameter
+     * @param key  the key
+     * @param type the type
+     * @return the entry, null if absent
+     * @throws CacheException the cache exception
+     */
+    <T> CacheEntry<T> getEntry(String key, Class<T> type) throws CacheException;
+
+    /**
+     * Set tombstone (negative cache): key được ghi một byte đánh dấu không tồn tại,
+     * {@link #getEntry(String, Class)} trả về entry có {@code tombstone() == true}, các hàm đọc khác trả về null.
+     * Chỉ ghi khi key chưa có giá trị (SET NX), để tombstone của một lần đọc miss bắt đầu trước khi model
+     * được tạo không đè lên model vừa được cache bởi lần tạo đó.
+     *
+     * @param key the key
+     * @param ttl the ttl
+     * @return true nếu đã ghi
+     */
+    boolean setTombstone(String key, Duration ttl);
+
+    /**
+     * Gets list with remaining TTL (GET + PTTL in one pipeline).
+     *
+     * @param <T>  the type parameter
+     * @param key  the key
+     * @param type the type
+     * @return the entry, null if absent
+     * @throws CacheException the cache exception
+     */
+    <T> CacheEntry<List<T>> getListEntry(String key, Class<T> type) throws CacheException;
+
+    /**
+     * Multi get (MGET).
+     *
+     * @param <T>  the type parameter
+     * @param keys the keys
+     * @param type the type
+     * @return the map key -> value, chỉ chứa các key có trong cache, giữ thứ tự của keys
+     */
+    <T> Map<String, T> multiGet(Collection<String> keys, Class<T> type);
+
     /**
      * Set.
      *
@@ -38,7 +88,8 @@ public interface ICacheService {
     void set(String key, Object value);
 
     /**
-     * Set.
+     * Set. Value là {@link com.restaurant.data.model.IVersionedModel} có version thì ghi qua
+     * {@link #setIfNewer(String, Object, long, Duration)}.
      *
      * @param key   the key
      * @param value the value
@@ -46,6 +97,33 @@ public interface ICacheService {
      */
     void set(String key, Object value, Duration ttl);
 
+    /**
+     * Set if newer: script Lua so sánh với version đang lưu ở key phụ {@code <key>:v} và chỉ ghi
+     * (value và version, cùng TTL) khi version không nhỏ hơn.
+     *
+     * @param key     the key
+     * @param value   the value
+     * @param version the version
+     * @param ttl     the ttl
+     * @return true nếu đã ghi
+     */
+    boolean setIfNewer(String key, Object value, long version, Duration ttl);
+
+    /**
+     * Set all values with the same TTL in one pipelined batch.
+     *
+     * @param values the values
+     * @param ttl    the ttl
+     */
+    void setAll(Map<String, ?> values, Duration ttl);
+
+    /**
+     * Batch writer.
+     *
+     * @return the cache batch writer
+     */
+    ICacheBatchWriter batchWriter();
+
     /**
      * Delete.
      *
@@ -53,6 +131,13 @@ public interface ICacheService {
      */
     void delete(String key);
 
+    /**
+     * Delete keys bằng UNLINK theo từng chunk (một round trip mỗi chunk).
+     *
+     * @param keys the keys
+     */
+    void deleteAll(Collection<String> keys);
+
     /**
      * Delete pattern.
      *
@@ -60,6 +145,14 @@ public interface ICacheService {
      */
     void deletePattern(String pattern);
 
+    /**
+     * Delete pattern asynchronously.
+     *
+     * @param pattern the pattern
+     * @return the completable future
+     */
+    CompletableFuture<InvalidationReport> deletePatternAsync(String pattern);
+
     /**
      * Exists boolean.
      *
@@ -72,4 +165,55 @@ public interface ICacheService {
      * Clear all.
      */
     void clearAll();
+
+    /**
+     * Gets counter.
+     *
+     * @param key the key
+     * @return giá trị counter, 0 nếu chưa có
+     * @throws CacheException lỗi đọc Redis, không trả về 0 thay cho giá trị thật
+     */
+    long getCounter(String key) throws CacheException;
+
+    /**
+     * Increment counter (INCR).
+     *
+     * @param key the key
+     * @return giá trị sau khi tăng
+     */
+    long incrementCounter(String key);
+
+    /**
+     * Try lock (SET NX PX).
+     *
+     * @param key the key
+     * @param ttl the ttl
+     * @return the token, null nếu lock đang bị giữ
+     */
+    String tryLock(String key, Duration ttl);
+
+    /**
+     * Unlock, chỉ xóa lock khi token khớp.
+     *
+     * @param key   the key
+     * @param token the token
+     */
+    void unlock(String key, String token);
+
+    /**
+     * Enable local (in-process) cache for keys starting with prefix.
+     *
+     * @param keyPrefix   the key prefix
+     * @param maximumSize the maximum size
+     * @param ttl         the ttl
+     */
+    void enableLocalCache(String keyPrefix, long maximumSize, Duration ttl);
+
+    /**
+     * Register value codec for a model class (and lists of it).
+     *
+     * @param type      the type
+     * @param codecType the codec type
+     */
+    void registerValueCodec(Class<?> type, ValueCodecType codecType);
 }
@@ -0,0 +1,95 @@
+package com.restaurant.cache.service;
+
+import java.time.Duration;
+import java.util.Collection;
+
+/**
+ * The interface Local cache service.
+ * <p>
+ * Cache in-process (L1) đặt phía trước Redis, chia theo region (prefix của key).
+ */
+public interface ILocalCacheService {
+
+    /**
+     * Enable region.
+     *
+     * @param keyPrefix   the key prefix
+     * @param maximumSize the maximum size
+     * @param ttl         the ttl
+     */
+    void enableRegion(String keyPrefix, long maximumSize, Duration ttl);
+
+    /**
+     * Is enabled boolean.
+     *
+     * @param key the key
+     * @return the boolean
+     */
+    boolean isEnabled(String key);
+
+    /**
+     * Gets value.
+     *
+     * @param key the key
+     * @return the value, null if absent
+     */
+    Object get(String key);
+
+    /**
+     * Put.
+     *
+     * @param key   the key
+     * @param value the value
+     */
+    void put(String key, Object value);
+
+    /**
+     * Write epoch của key, đọc trước khi đọc Redis.
+     *
+     * @param key the key
+     * @return the epoch
+     */
+    long writeEpoch(String key);
+
+    /**
+     * Put nếu không có lần invalidate nào (local hoặc từ node khác) từ lúc đọc epoch.
+     *
+     * @param key   the key
+     * @param value giá trị đọc từ Redis
+     * @param epoch {@link #writeEpoch(String)} đọc trước khi đọc Redis
+     */
+    void put(String key, Object value, long epoch);
+
+    /**
+     * Evict key on this node and publish the invalidation to other nodes.
+     *
+     * @param key the key
+     */
+    void invalidate(String key);
+
+    /**
+     * Evict keys on this node and publish one invalidation message listing them to other nodes.
+     *
+     * @param keys the keys
+     */
+    void invalidate(Collection<String> keys);
+
+    /**
+     * Evict keys matching pattern on this node and publish the invalidation to other nodes.
+     *
+     * @param pattern the pattern
+     */
+    void invalidatePattern(String pattern);
+
+    /**
+     * Evict all entries on this node and publish the invalidation to other nodes.
+     */
+    void invalidateAll();
+
+    /**
+     * Handle an invalidation message received from another node.
+     *
+     * @param message the message
+     */
+    void onInvalidationMessage(String message);
+}
@@ -0,0 +1,163 @@
+package com.restaurant.cache.service;
+
+import com.restaurant.data.model.IFilter;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The interface Reactive cache service.
+ * <p>
+ * Bản non-blocking của {@link ICacheService} cho code chạy trên event loop (vd. filter của api-gateway).
+ * Cùng định dạng value và quy ước key với {@link ICacheService} / {@code ICachingFactory}
+ * (xem {@link com.restaurant.cache.factory.CacheKeys}), nên đọc / ghi chung cache với các service blocking.
+ * Lỗi Redis được log và trả về rỗng / false, trừ {@link #getCache(String, Class)}.
+ */
+public interface IReactiveCacheService {
+
+    /**
+     * Gets cache.
+     *
+     * @param <T>  the type parameter
+     * @param key  the key
+     * @param type the type
+     * @return the value, rỗng khi miss hoặc tombstone; lỗi là {@link com.restaurant.cache.exception.CacheException}
+     */
+    <T> Mono<T> getCache(String key, Class<T> type);
+
+    /**
+     * Gets list.
+     *
+     * @param <T>  the type parameter
+     * @param key  the key
+     * @param type the type
+     * @return the list, rỗng khi miss
+     */
+    <T> Mono<List<T>> getList(String key, Class<T> type);
+
+    /**
+     * Gets cached model by id, key build theo {@code ICachingFactory#makeSingleKeyCache}.
+     *
+     * @param <M>        the type parameter
+     * @param modelClass the model class
+     * @param id         the id
+     * @return the model
+     */
+    <M> Mono<M> getModel(Class<M> modelClass, Object id);
+
+    /**
+     * Gets cached list model, key build theo {@code ICachingFactory#makeKeyCacheList} với generation hiện tại.
+     * Chỉ dùng khi factory cache bản copy model; factory bật
+     * {@link com.restaurant.cache.factory.CacheConfigFactory#cacheListIds()} thì đọc bằng
+     * {@link #getListModelIds(Class, IFilter)}.
+     *
+     * @param <M>        the type parameter
+     * @param modelClass the model class
+     * @param filter     the filter
+     * @return the list, rỗng khi miss
+     */
+    <M> Mono<List<M>> getListModel(Class<M> modelClass, IFilter filter);
+
+    /**
+     * Gets cached list model ở chế độ {@link com.restaurant.cache.factory.CacheConfigFactory#cacheListIds()}:
+     * key list chứa id, các model được đọc bằng một lệnh MGET theo key của
+     * {@link #getModel(Class, Object)}.
+     *
+     * @param <M>        the type parameter
+     * @param modelClass the model class
+     * @param filter     the filter
+     * @return the list theo thứ tự id, rỗng khi miss hoặc thiếu model nào đó
+     */
+    <M> Mono<List<M>> getListModelIds(Class<M> modelClass, IFilter filter);
+
+    /**
+     * List key của filter với generation hiện tại.
+     *
+     * @param modelClass the model class
+     * @param filter     the filter
+     * @return the key
+     */
+    Mono<String> listKey(Class<?> modelClass, IFilter filter);
+
+    /**
+     * Multi get.
+     *
+     * @param <T>  the type parameter
+     * @param keys the keys
+     * @param type the type
+     * @return the map, chỉ chứa các key có trong cache
+     */
+    <T> Mono<Map<String, T>> multiGet(Collection<String> keys, Class<T> type);
+
+    /**
+     * Set value, value có version đi qua {@link #setIfNewer(String, Object, long, Duration)}.
+     *
+     * @param key   the key
+     * @param value the value
+     * @param ttl   the ttl
+     * @return true nếu đã ghi
+     */
+    Mono<Boolean> set(String key, Object value, Duration ttl);
+
+    /**
+     * Set if newer.
+     *
+     * @param key     the key
+     * @param value   the value
+     * @param version the version
+     * @param ttl     the ttl
+     * @return true nếu đã ghi
+     */
+    Mono<Boolean> setIfNewer(String key, Object value, long version, Duration ttl);
+
+    /**
+     * Delete.
+     *
+     * @param key the key
+     * @return true nếu key tồn tại
+     */
+    Mono<Boolean> delete(String key);
+
+    /**
+     * Delete keys with UNLINK.
+     *
+     * @param keys the keys
+     * @return số key đã xóa
+     */
+    Mono<Long> deleteAll(Collection<String> keys);
+
+    /**
+     * Exists.
+     *
+     * @param key the key
+     * @return the boolean
+     */
+    Mono<Boolean> exists(String key);
+
+    /**
+     * Gets counter.
+     *
+     * @param key the key
+     * @return the counter, 0 if absent; lỗi Redis phát ra {@link com.restaurant.cache.exception.CacheException}
+     */
+    Mono<Long> getCounter(String key);
+
+    /**
+     * Increment counter.
+     *
+     * @param key the key
+     * @return the counter after increment
+     */
+    Mono<Long> incrementCounter(String key);
+
+    /**
+     * Tăng generation list của model, mọi list cũ không còn được đọc.
+     *
+     * @param modelClass the model class
+     * @return the new generation
+     */
+    Mono<Long> clearListModel(Class<?> modelClass);
+}
@@ -0,0 +1,131 @@
+package com.restaurant.cache.service.impl;
+
+import com.restaurant.cache.model.InvalidationReport;
+import com.restaurant.cache.service.ICacheInvalidationService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+
+/**
+ * The type Cache invalidation service.
+ * <p>
+ * SCAN không block Redis như KEYS, mỗi vòng chỉ trả về khoảng {@link #SCAN_COUNT} key; key được
+ * xóa theo batch bằng UNLINK để Redis giải phóng bộ nhớ ở background thread.
+ */
+@Slf4j
+@Component
+public class CacheInvalidationService implements ICacheInvalidationService, DisposableBean {
+
+    private static final long SCAN_COUNT = 500;
+    private static final int UNLINK_BATCH_SIZE = 500;
+    private static final int QUEUE_CAPACITY = 64;
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final ExecutorService executor;
+
+    /**
+     * Instantiates a new Cache invalidation service.
+     *
+     * @param redisTemplate the redis template
+     */
+    public CacheInvalidationService(RedisTemplate<String, Object> redisTemplate) {
+        this.redisTemplate = redisTemplate;
+        this.executor = new ThreadPoolExecutor(
+                1, 1, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(QUEUE_CAPACITY),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "cache-invalidation");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy()
+        );
+    }
+
+    @Override
+    public InvalidationReport unlinkPattern(String pattern, Consumer<InvalidationReport> progressListener) {
+        long start = System.nanoTime();
+        InvalidationReport report = redisTemplate.execute((RedisCallback<InvalidationReport>) connection ->
+                scanAndUnlink(connection, pattern, progressListener, start));
+        log.debug("Unlinked {} keys matching pattern: {} in {}", report.deleted(), pattern, report.elapsed());
+        return report;
+    }
+
+    @Override
+    public CompletableFuture<InvalidationReport> unlinkPatternAsync(String pattern,
+                                                                    Consumer<InvalidationReport> progressListener) {
+        return CompletableFuture.supplyAsync(() -> unlinkPattern(pattern, progressListener), executor);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+
+    private InvalidationReport scanAndUnlink(RedisConnection connection,
+                                             String pattern,
+                                             Consumer<InvalidationReport> progressListener,
+                                             long start) {
+        ScanOptions options = ScanOptions.scanOptions().match(pattern).count(SCAN_COUNT).build();
+        List<byte[]> batch = new ArrayList<>(UNLINK_BATCH_SIZE);
+        long scanned = 0;
+        long deleted = 0;
+        int batches = 0;
+        try (Cursor<byte[]> cursor = connection.keyCommands().scan(options)) {
+            while (cursor.hasNext()) {
+                batch.add(cursor.next());
+                scanned++;
+                if (batch.size() >= UNLINK_BATCH_SIZE) {
+                    deleted += unlink(connection, batch);
+                    batches++;
+                    notify(progressListener, new InvalidationReport(
+                            pattern, scanned, deleted, batches, elapsed(start), false));
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            deleted += unlink(connection, batch);
+            batches++;
+        }
+        InvalidationReport report = new InvalidationReport(pattern, scanned, deleted, batches, elapsed(start), true);
+        notify(progressListener, report);
+        return report;
+    }
+
+    private static long unlink(RedisConnection connection, List<byte[]> batch) {
+        Long count = connection.keyCommands().unlink(batch.toArray(new byte[0][]));
+        batch.clear();
+        return count == null ? 0 : count;
+    }
+
+    private static void notify(Consumer<InvalidationReport> progressListener, InvalidationReport report) {
+        if (progressListener == null) {
+            return;
+        }
+        try {
+            progressListener.accept(report);
+        } catch (Exception e) {
+            log.warn("Invalidation progress listener exception. Error: {}", e.getMessage());
+        }
+    }
+
+    private static Duration elapsed(long start) {
+        return Duration.ofNanos(System.nanoTime() - start);
+    }
+}
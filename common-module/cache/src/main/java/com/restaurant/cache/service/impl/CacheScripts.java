@@ -0,0 +1,40 @@
+package com.restaurant.cache.service.impl;
+
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Script Lua và quy ước key phụ dùng chung giữa {@link CacheService} và {@link ReactiveCacheService}.
+ */
+final class CacheScripts {
+
+    /**
+     * Hậu tố key lưu version của value; không bị xóa cùng value, tự hết hạn theo TTL của lần ghi cuối.
+     */
+    static final String VERSION_SUFFIX = ":v";
+
+    /**
+     * KEYS[1] value key, KEYS[2] version key; ARGV value, version, ttl millis. Ghi khi version >= version đang lưu.
+     */
+    static final RedisScript<Long> SET_IF_NEWER_SCRIPT = new DefaultRedisScript<>(
+            "local current = redis.call('get', KEYS[2]) "
+                    + "if current and tonumber(current) > tonumber(ARGV[2]) then return 0 end "
+                    + "redis.call('set', KEYS[1], ARGV[1], 'PX', ARGV[3]) "
+                    + "redis.call('set', KEYS[2], ARGV[2], 'PX', ARGV[3]) "
+                    + "return 1",
+            Long.class
+    );
+
+    private CacheScripts() {
+    }
+
+    static String versionKey(String key) {
+        return key + VERSION_SUFFIX;
+    }
+
+    static byte[] toBytes(long value) {
+        return Long.toString(value).getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -1,22 +1,53 @@
 package com.restaurant.cache.service.impl;
 
+import com.restaurant.cache.codec.CodecRedisSerializer;
+import com.restaurant.cache.codec.ValueCodecRegistry;
+import com.restaurant.cache.codec.ValueCodecType;
 import com.restaurant.cache.exception.CacheException;
+import com.restaurant.cache.hotkey.HotKeyDetector;
+import com.restaurant.cache.metrics.CacheMetrics;
+import com.restaurant.cache.model.CacheEntry;
+import com.restaurant.cache.model.InvalidationReport;
+import com.restaurant.cache.service.ICacheBatchWriter;
+import com.restaurant.cache.service.ICacheInvalidationService;
 import com.restaurant.cache.service.ICacheService;
+import com.restaurant.cache.service.ILocalCacheService;
+import com.restaurant.data.model.IVersionedModel;
 import com.restaurant.utils.MapperUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.serializer.GenericToStringSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Set;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 
 /**
  * The type Cache service.
+ * <p>
+ * Latency từng lệnh Redis và các lỗi bị nuốt được ghi vào {@link CacheMetrics}, tag model lấy từ prefix của key.
+ * Các lần đọc xuống Redis (trừ counter) được đếm qua {@link HotKeyDetector}; key hot được đọc từ bản copy
+ * in-process ngắn hạn thay vì gọi Redis, ghi / xóa trên node này evict bản copy.
  */
 @Slf4j
 @Component
@@ -24,7 +55,18 @@ import java.util.concurrent.TimeUnit;
 public class CacheService implements ICacheService {
 
     private final RedisTemplate<String, Object> redisTemplate;
+    private final ILocalCacheService localCacheService;
+    private final ICacheInvalidationService cacheInvalidationService;
+    private final ValueCodecRegistry valueCodecRegistry;
+    private final HotKeyDetector hotKeyDetector;
+    private final CacheMetrics cacheMetrics = CacheMetrics.global();
     private static final Duration DEFAULT_TTL = Duration.ofHours(1);
+    private static final int WRITE_BATCH_SIZE = 500;
+    private static final RedisSerializer<Long> LONG_SERIALIZER = new GenericToStringSerializer<>(Long.class);
+    private static final RedisScript<Long> UNLOCK_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class
+    );
 
     /**
      * Gets cache.
@@ -37,11 +79,14 @@ public class CacheService implements ICacheService {
     @Override
     public <T> T getCache(String key, Class<T> type) throws CacheException {
         try {
-            Object cachedValue = redisTemplate.opsForValue().get(key);
-            if (cachedValue == null) {
-                return null;
+            Object localValue = localCacheService.get(key);
+            if (type.isInstance(localValue)) {
+                return type.cast(localValue);
             }
-            return MapperUtil.convertValue(cachedValue, type);
+            long epoch = localCacheService.writeEpoch(key);
+            T value = decode(getTracked(key), type);
+            localCacheService.put(key, value, epoch);
+            return value;
         } catch (Exception e) {
             throw new CacheException(e.getMessage(), e.getMessage());
         }
@@ -58,21 +103,221 @@ public class CacheService implements ICacheService {
     @Override
     public <T> List<T> getList(String key, Class<T> type) {
         try {
-            Object cached = redisTemplate.opsForValue().get(key);
-            if (cached == null) {
-                return Collections.emptyList();
-            }
-
-            return MapperUtil.convertValue(
-                    cached,
-                    MapperUtil.getTypeFactoryToConvertList(type)
-            );
+            List<T> cached = decodeList(getTracked(key), type);
+            return cached == null ? Collections.emptyList() : cached;
         } catch (Exception e) {
+            cacheMetrics.error(CacheMetrics.modelOfKey(key), "getList");
             log.error(e.getMessage(), e);
             return Collections.emptyList();
         }
     }
 
+    /**
+     * Gets cache with remaining TTL
+     *
+     * @param <T>  the type parameter
+     * @param key  the key
+     * @param type the type
+     * @return the entry
+     */
+    @Override
+    public <T> CacheEntry<T> getEntry(String key, Class<T> type) throws CacheException {
+        try {
+            Object localValue = localCacheService.get(key);
+            if (type.isInstance(localValue)) {
+                return new CacheEntry<>(type.cast(localValue), null);
+            }
+            long epoch = localCacheService.writeEpoch(key);
+            List<Object> results = getWithTtlTracked(key);
+            byte[] raw = (byte[]) results.get(0);
+            if (CodecRedisSerializer.isTombstone(raw)) {
+                return CacheEntry.tombstone(toTtl(results.get(1)));
+            }
+            T value = decode(raw, type);
+            if (value == null) {
+                return null;
+            }
+            localCacheService.put(key, value, epoch);
+            return new CacheEntry<>(value, toTtl(results.get(1)));
+        } catch (Exception e) {
+            throw new CacheException(e.getMessage(), e.getMessage());
+        }
+    }
+
+    /**
+     * Gets list with remaining TTL
+     *
+     * @param <T>  the type parameter
+     * @param key  the key
+     * @param type the type
+     * @return the entry
+     */
+    @Override
+    public <T> CacheEntry<List<T>> getListEntry(String key, Class<T> type) throws CacheException {
+        try {
+            List<Object> results = getWithTtlTracked(key);
+            List<T> value = decodeList((byte[]) results.get(0), type);
+            if (value == null) {
+                return null;
+            }
+            return new CacheEntry<>(value, toTtl(results.get(1)));
+        } catch (Exception e) {
+            throw new CacheException(e.getMessage(), e.getMessage());
+        }
+    }
+
+    private List<Object> getWithTtl(String key) {
+        byte[] rawKey = rawKey(key);
+        return timed(key, "get_pttl", () -> redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            connection.stringCommands().get(rawKey);
+            connection.keyCommands().pTtl(rawKey);
+            return null;
+        }, RedisSerializer.byteArray()));
+    }
+
+    private List<Object> getWithTtlTracked(String key) {
+        if (hotKeyDetector.record(key)) {
+            HotKeyDetector.HotCopy copy = hotKeyDetector.getCopyWithTtl(key);
+            if (copy != null) {
+                return Arrays.asList(copy.value(), copy.remainingTtl().toMillis());
+            }
+        }
+        long epoch = hotKeyDetector.writeEpoch(key);
+        List<Object> results = getWithTtl(key);
+        hotKeyDetector.putCopy(key, (byte[]) results.get(0), toTtl(results.get(1)), epoch);
+        return results;
+    }
+
+    private <R> R timed(String key, String command, Supplier<R> call) {
+        long start = System.nanoTime();
+        try {
+            return call.get();
+        } finally {
+            cacheMetrics.redisLatency(CacheMetrics.modelOfKey(key), command, System.nanoTime() - start);
+        }
+    }
+
+    private byte[] rawKey(String key) {
+        @SuppressWarnings("unchecked")
+        RedisSerializer<String> keySerializer = (RedisSerializer<String>) redisTemplate.getKeySerializer();
+        return keySerializer.serialize(key);
+    }
+
+    private byte[] getRaw(String key) {
+        byte[] rawKey = rawKey(key);
+        return timed(key, "get", () ->
+                redisTemplate.execute((RedisCallback<byte[]>) connection -> connection.stringCommands().get(rawKey)));
+    }
+
+    private byte[] getTracked(String key) {
+        if (hotKeyDetector.record(key)) {
+            byte[] copy = hotKeyDetector.getCopy(key);
+            if (copy != null) {
+                return copy;
+            }
+        }
+        long epoch = hotKeyDetector.writeEpoch(key);
+        byte[] raw = getRaw(key);
+        hotKeyDetector.putCopy(key, raw, null, epoch);
+        return raw;
+    }
+
+    /**
+     * Decode bytes thẳng vào type đích, không qua object trung gian + convertValue.
+     */
+    private <T> T decode(byte[] bytes, Class<T> type) {
+        if (bytes == null || CodecRedisSerializer.isTombstone(bytes)) {
+            return null;
+        }
+        if (redisTemplate.getValueSerializer() instanceof CodecRedisSerializer codecSerializer) {
+            return codecSerializer.deserialize(bytes, type);
+        }
+        return MapperUtil.convertValue(redisTemplate.getValueSerializer().deserialize(bytes), type);
+    }
+
+    private <T> List<T> decodeList(byte[] bytes, Class<T> type) {
+        if (bytes == null || CodecRedisSerializer.isTombstone(bytes)) {
+            return null;
+        }
+        if (redisTemplate.getValueSerializer() instanceof CodecRedisSerializer codecSerializer) {
+            return codecSerializer.deserializeList(bytes, type);
+        }
+        return MapperUtil.convertValue(
+                redisTemplate.getValueSerializer().deserialize(bytes),
+                MapperUtil.getTypeFactoryToConvertList(type)
+        );
+    }
+
+    private static Duration toTtl(Object pttl) {
+        if (pttl instanceof Long millis && millis >= 0) {
+            return Duration.ofMillis(millis);
+        }
+        return null;
+    }
+
+    /**
+     * Multi get, đọc L1 trước rồi MGET các key còn thiếu
+     *
+     * @param <T>  the type parameter
+     * @param keys the keys
+     * @param type the type
+     * @return the map
+     */
+    @Override
+    public <T> Map<String, T> multiGet(Collection<String> keys, Class<T> type) {
+        Map<String, T> result = new LinkedHashMap<>();
+        if (keys == null || keys.isEmpty()) {
+            return result;
+        }
+        List<String> remoteKeys = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            Object localValue = localCacheService.get(key);
+            if (type.isInstance(localValue)) {
+                result.put(key, type.cast(localValue));
+                continue;
+            }
+            byte[] copy = hotKeyDetector.record(key) ? hotKeyDetector.getCopy(key) : null;
+            T hotValue = copy == null ? null : decode(copy, type);
+            if (hotValue != null) {
+                result.put(key, hotValue);
+            } else {
+                remoteKeys.add(key);
+            }
+        }
+        if (remoteKeys.isEmpty()) {
+            return result;
+        }
+        try {
+            byte[][] rawKeys = new byte[remoteKeys.size()][];
+            long[] epochs = new long[remoteKeys.size()];
+            long[] localEpochs = new long[remoteKeys.size()];
+            for (int i = 0; i < rawKeys.length; i++) {
+                rawKeys[i] = rawKey(remoteKeys.get(i));
+                epochs[i] = hotKeyDetector.writeEpoch(remoteKeys.get(i));
+                localEpochs[i] = localCacheService.writeEpoch(remoteKeys.get(i));
+            }
+            List<byte[]> values = timed(remoteKeys.get(0), "mget", () ->
+                    redisTemplate.execute((RedisCallback<List<byte[]>>) connection ->
+                            connection.stringCommands().mGet(rawKeys)));
+            if (values == null) {
+                return result;
+            }
+            for (int i = 0; i < remoteKeys.size(); i++) {
+                hotKeyDetector.putCopy(remoteKeys.get(i), values.get(i), null, epochs[i]);
+                T value = decode(values.get(i), type);
+                if (value == null) {
+                    continue;
+                }
+                localCacheService.put(remoteKeys.get(i), value, localEpochs[i]);
+                result.put(remoteKeys.get(i), value);
+            }
+        } catch (Exception e) {
+            cacheMetrics.error(CacheMetrics.modelOfKey(remoteKeys.get(0)), "multiGet");
+            log.error("Error multi get cache for {} keys", remoteKeys.size(), e);
+        }
+        return result;
+    }
+
     /**
      * Set value in cache with default TTL
      *
@@ -93,29 +338,272 @@ public class CacheService implements ICacheService {
      */
     @Override
     public void set(String key, Object value, Duration ttl) {
+        Long version = versionOf(value);
+        if (version != null) {
+            setIfNewer(key, value, version, ttl);
+            return;
+        }
         try {
-            redisTemplate.opsForValue().set(key, value, ttl.toMillis(), TimeUnit.MILLISECONDS);
+            timed(key, "set", () -> {
+                redisTemplate.opsForValue().set(key, value, ttl.toMillis(), TimeUnit.MILLISECONDS);
+                return null;
+            });
+            hotKeyDetector.evict(key);
+            if (localCacheService.isEnabled(key)) {
+                localCacheService.invalidate(key);
+                localCacheService.put(key, value);
+            }
             log.debug("Cached value for key: {} with TTL: {}", key, ttl);
         } catch (Exception e) {
+            cacheMetrics.error(CacheMetrics.modelOfKey(key), "set");
             log.error("Error setting cache for key: {}", key, e);
         }
     }
 
     /**
-     * Delete a specific key from cache
+     * Set if newer, atomic compare-and-set theo version bằng script Lua
+     *
+     * @param key     the key
+     * @param value   the value
+     * @param version the version
+     * @param ttl     the ttl
+     * @return true nếu đã ghi
+     */
+    @Override
+    public boolean setIfNewer(String key, Object value, long version, Duration ttl) {
+        try {
+            @SuppressWarnings("unchecked")
+            RedisSerializer<Object> valueSerializer = (RedisSerializer<Object>) redisTemplate.getValueSerializer();
+            byte[] rawValue = valueSerializer.serialize(value);
+            Long written = timed(key, "set_if_newer", () -> redisTemplate.execute(
+                    CacheScripts.SET_IF_NEWER_SCRIPT,
+                    RedisSerializer.byteArray(),
+                    LONG_SERIALIZER,
+                    List.of(key, CacheScripts.versionKey(key)),
+                    rawValue,
+                    CacheScripts.toBytes(version),
+                    CacheScripts.toBytes(ttl.toMillis())
+            ));
+            boolean accepted = written != null && written == 1L;
+            hotKeyDetector.evict(key);
+            if (accepted && localCacheService.isEnabled(key)) {
+                localCacheService.invalidate(key);
+                localCacheService.put(key, value);
+            }
+            log.debug("Cached value for key: {} version: {} accepted: {}", key, version, accepted);
+            return accepted;
+        } catch (Exception e) {
+            cacheMetrics.error(CacheMetrics.modelOfKey(key), "setIfNewer");
+            log.error("Error setting versioned cache for key: {}", key, e);
+            return false;
+        }
+    }
+
+    private static Long versionOf(Object value) {
+        return value instanceof IVersionedModel<?> versioned ? versioned.getVersion() : null;
+    }
+
+    /**
+     * Set tombstone (SET NX), ghi thẳng một byte không qua value serializer
+     *
+     * @param key the key
+     * @param ttl the ttl
+     * @return true nếu đã ghi
+     */
+    @Override
+    public boolean setTombstone(String key, Duration ttl) {
+        try {
+            byte[] rawKey = rawKey(key);
+            byte[] tombstone = {CodecRedisSerializer.TOMBSTONE};
+            Boolean written = timed(key, "set", () -> redisTemplate.execute((RedisCallback<Boolean>) connection ->
+                    connection.stringCommands().set(
+                            rawKey,
+                            tombstone,
+                            Expiration.milliseconds(ttl.toMillis()),
+                            RedisStringCommands.SetOption.ifAbsent()
+                    )));
+            if (!Boolean.TRUE.equals(written)) {
+                log.debug("Skip tombstone for key: {}, key already has a value", key);
+                return false;
+            }
+            hotKeyDetector.evict(key);
+            if (localCacheService.isEnabled(key)) {
+                localCacheService.invalidate(key);
+            }
+            log.debug("Cached tombstone for key: {} with TTL: {}", key, ttl);
+            return true;
+        } catch (Exception e) {
+            cacheMetrics.error(CacheMetrics.modelOfKey(key), "setTombstone");
+            log.error("Error setting tombstone for key: {}", key, e);
+            return false;
+        }
+    }
+
+    /**
+     * Set all values through Redis pipelining, chia chunk tối đa {@link #WRITE_BATCH_SIZE} key
+     *
+     * @param values the values
+     * @param ttl    the ttl
+     */
+    @Override
+    public void setAll(Map<String, ?> values, Duration ttl) {
+        if (values == null || values.isEmpty()) {
+            return;
+        }
+        List<PendingWrite> writes = new ArrayList<>(values.size());
+        for (Map.Entry<String, ?> entry : values.entrySet()) {
+            writes.add(new PendingWrite(entry.getKey(), entry.getValue(), ttl));
+        }
+        writePipelined(writes);
+    }
+
+    /**
+     * Batch writer, mỗi key có TTL riêng
+     *
+     * @return the cache batch writer
+     */
+    @Override
+    public ICacheBatchWriter batchWriter() {
+        return new BatchWriter();
+    }
+
+    private void writePipelined(List<PendingWrite> writes) {
+        for (int from = 0; from < writes.size(); from += WRITE_BATCH_SIZE) {
+            List<PendingWrite> chunk = writes.subList(from, Math.min(from + WRITE_BATCH_SIZE, writes.size()));
+            try {
+                List<Object> results;
+                try {
+                    results = timed(chunk.get(0).key(), "set_pipeline", () -> pipelineWrites(chunk));
+                } catch (RuntimeException e) {
+                    if (!isNoScript(e)) {
+                        throw e;
+                    }
+                    // script chưa có trong script cache của Redis (lần đầu, sau restart / failover): load rồi chạy lại
+                    loadSetIfNewerScript();
+                    results = timed(chunk.get(0).key(), "set_pipeline", () -> pipelineWrites(chunk));
+                }
+                List<PendingWrite> accepted = new ArrayList<>(chunk.size());
+                List<String> acceptedKeys = new ArrayList<>(chunk.size());
+                for (int i = 0; i < chunk.size(); i++) {
+                    PendingWrite write = chunk.get(i);
+                    hotKeyDetector.evict(write.key());
+                    boolean rejected = versionOf(write.value()) != null
+                            && !(i < results.size() && results.get(i) instanceof Long written && written == 1L);
+                    if (!rejected && localCacheService.isEnabled(write.key())) {
+                        accepted.add(write);
+                        acceptedKeys.add(write.key());
+                    }
+                }
+                // một message invalidation cho cả chunk thay vì một PUBLISH cho mỗi key
+                localCacheService.invalidate(acceptedKeys);
+                for (PendingWrite write : accepted) {
+                    localCacheService.put(write.key(), write.value());
+                }
+                log.debug("Cached {} values in pipeline", chunk.size());
+            } catch (Exception e) {
+                cacheMetrics.error(CacheMetrics.modelOfKey(chunk.get(0).key()), "setAll");
+                log.error("Error setting cache for {} keys", chunk.size(), e);
+            }
+        }
+    }
+
+    /**
+     * Ghi một chunk trong một pipeline; write có version chạy {@link CacheScripts#SET_IF_NEWER_SCRIPT} bằng
+     * EVALSHA để không gửi lại nội dung script cho mỗi key.
+     */
+    private List<Object> pipelineWrites(List<PendingWrite> chunk) {
+        @SuppressWarnings("unchecked")
+        RedisSerializer<String> keySerializer = (RedisSerializer<String>) redisTemplate.getKeySerializer();
+        @SuppressWarnings("unchecked")
+        RedisSerializer<Object> valueSerializer = (RedisSerializer<Object>) redisTemplate.getValueSerializer();
+        String setIfNewerSha = CacheScripts.SET_IF_NEWER_SCRIPT.getSha1();
+        return redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (PendingWrite write : chunk) {
+                Long version = versionOf(write.value());
+                if (version != null) {
+                    connection.scriptingCommands().evalSha(
+                            setIfNewerSha,
+                            ReturnType.INTEGER,
+                            2,
+                            keySerializer.serialize(write.key()),
+                            keySerializer.serialize(CacheScripts.versionKey(write.key())),
+                            valueSerializer.serialize(write.value()),
+                            CacheScripts.toBytes(version),
+                            CacheScripts.toBytes(write.ttl().toMillis())
+                    );
+                    continue;
+                }
+                connection.stringCommands().set(
+                        keySerializer.serialize(write.key()),
+                        valueSerializer.serialize(write.value()),
+                        Expiration.milliseconds(write.ttl().toMillis()),
+                        RedisStringCommands.SetOption.upsert()
+                );
+            }
+            return null;
+        });
+    }
+
+    private void loadSetIfNewerScript() {
+        byte[] script = CacheScripts.SET_IF_NEWER_SCRIPT.getScriptAsString().getBytes(StandardCharsets.UTF_8);
+        redisTemplate.execute((RedisCallback<String>) connection -> connection.scriptingCommands().scriptLoad(script));
+    }
+
+    private static boolean isNoScript(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause.getMessage() != null && cause.getMessage().contains("NOSCRIPT")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Delete a specific key from cache. Key version ({@link CacheScripts#versionKey(String)}) được giữ lại đến hết
+     * TTL của nó, để writer đọc dữ liệu trước lần xóa không ghi đè được bằng version cũ hơn.
      *
      * @param key the key
      */
     @Override
     public void delete(String key) {
         try {
-            redisTemplate.delete(key);
+            timed(key, "del", () -> redisTemplate.delete(key));
+            hotKeyDetector.evict(key);
+            localCacheService.invalidate(key);
             log.debug("Deleted cache for key: {}", key);
         } catch (Exception e) {
+            cacheMetrics.error(CacheMetrics.modelOfKey(key), "delete");
             log.error("Error deleting cache for key: {}", key, e);
         }
     }
 
+    /**
+     * Delete keys with UNLINK, chia chunk tối đa {@link #WRITE_BATCH_SIZE} key; giữ key version như {@link #delete(String)}
+     *
+     * @param keys the keys
+     */
+    @Override
+    public void deleteAll(Collection<String> keys) {
+        if (keys == null || keys.isEmpty()) {
+            return;
+        }
+        List<String> keyList = new ArrayList<>(keys);
+        for (int from = 0; from < keyList.size(); from += WRITE_BATCH_SIZE) {
+            List<String> chunk = keyList.subList(from, Math.min(from + WRITE_BATCH_SIZE, keyList.size()));
+            try {
+                timed(chunk.get(0), "unlink", () -> redisTemplate.unlink(chunk));
+                for (String key : chunk) {
+                    hotKeyDetector.evict(key);
+                }
+                localCacheService.invalidate(chunk);
+                log.debug("Deleted cache for {} keys", chunk.size());
+            } catch (Exception e) {
+                cacheMetrics.error(CacheMetrics.modelOfKey(chunk.get(0)), "deleteAll");
+                log.error("Error deleting cache for {} keys", chunk.size(), e);
+            }
+        }
+    }
+
     /**
      * Delete all keys matching a pattern
      *
@@ -124,16 +612,35 @@ public class CacheService implements ICacheService {
     @Override
     public void deletePattern(String pattern) {
         try {
-            Set<String> keys = redisTemplate.keys(pattern);
-            if (!keys.isEmpty()) {
-                redisTemplate.delete(keys);
-                log.debug("Deleted {} keys matching pattern: {}", keys.size(), pattern);
-            }
+            localCacheService.invalidatePattern(pattern);
+            hotKeyDetector.evictAll();
+            InvalidationReport report = cacheInvalidationService.unlinkPattern(pattern);
+            log.debug("Deleted {} keys matching pattern: {}", report.deleted(), pattern);
         } catch (Exception e) {
             log.error("Error deleting cache pattern: {}", pattern, e);
         }
     }
 
+    /**
+     * Delete all keys matching a pattern on the invalidation executor
+     *
+     * @param pattern the pattern
+     * @return the completable future
+     */
+    @Override
+    public CompletableFuture<InvalidationReport> deletePatternAsync(String pattern) {
+        localCacheService.invalidatePattern(pattern);
+        hotKeyDetector.evictAll();
+        return cacheInvalidationService.unlinkPatternAsync(pattern, null)
+                .whenComplete((report, e) -> {
+                    if (e != null) {
+                        log.error("Error deleting cache pattern: {}", pattern, e);
+                    } else {
+                        log.debug("Deleted {} keys matching pattern: {}", report.deleted(), pattern);
+                    }
+                });
+    }
+
     /**
      * Check if key exists in cache
      *
@@ -156,13 +663,139 @@ public class CacheService implements ICacheService {
     @Override
     public void clearAll() {
         try {
-            Set<String> keys = redisTemplate.keys("*");
-            if (!keys.isEmpty()) {
-                redisTemplate.delete(keys);
-                log.info("Cleared all cache, {} keys deleted", keys.size());
-            }
+            localCacheService.invalidateAll();
+            hotKeyDetector.evictAll();
+            InvalidationReport report = cacheInvalidationService.unlinkPattern("*");
+            log.info("Cleared all cache, {} keys deleted", report.deleted());
         } catch (Exception e) {
             log.error("Error clearing all cache", e);
         }
     }
+
+    /**
+     * Gets counter
+     *
+     * @param key the key
+     * @return the counter, 0 if absent
+     */
+    @Override
+    public long getCounter(String key) throws CacheException {
+        try {
+            byte[] value = getRaw(key);
+            return value == null ? 0 : Long.parseLong(new String(value, StandardCharsets.UTF_8));
+        } catch (Exception e) {
+            cacheMetrics.error(CacheMetrics.modelOfKey(key), "getCounter");
+            throw new CacheException(e.getMessage(), e.getMessage());
+        }
+    }
+
+    /**
+     * Increment counter
+     *
+     * @param key the key
+     * @return the counter after increment
+     */
+    @Override
+    public long incrementCounter(String key) {
+        byte[] rawKey = rawKey(key);
+        Long value = timed(key, "incr", () ->
+                redisTemplate.execute((RedisCallback<Long>) connection -> connection.stringCommands().incr(rawKey)));
+        return value == null ? 0 : value;
+    }
+
+    /**
+     * Try lock (SET NX PX)
+     *
+     * @param key the key
+     * @param ttl the ttl
+     * @return the token, null if the lock is held
+     */
+    @Override
+    public String tryLock(String key, Duration ttl) {
+        try {
+            String token = UUID.randomUUID().toString();
+            Boolean acquired = redisTemplate.execute((RedisCallback<Boolean>) connection ->
+                    connection.stringCommands().set(
+                            RedisSerializer.string().serialize(key),
+                            RedisSerializer.string().serialize(token),
+                            Expiration.milliseconds(ttl.toMillis()),
+                            RedisStringCommands.SetOption.ifAbsent()
+                    ));
+            return Boolean.TRUE.equals(acquired) ? token : null;
+        } catch (Exception e) {
+            log.error("Error acquiring lock for key: {}", key, e);
+            return null;
+        }
+    }
+
+    /**
+     * Unlock if token matches
+     *
+     * @param key   the key
+     * @param token the token
+     */
+    @Override
+    public void unlock(String key, String token) {
+        try {
+            redisTemplate.execute(UNLOCK_SCRIPT, RedisSerializer.string(), LONG_SERIALIZER, List.of(key), token);
+        } catch (Exception e) {
+            log.error("Error releasing lock for key: {}", key, e);
+        }
+    }
+
+    /**
+     * Enable local cache for keys starting with prefix
+     *
+     * @param keyPrefix   the key prefix
+     * @param maximumSize the maximum size
+     * @param ttl         the ttl
+     */
+    @Override
+    public void enableLocalCache(String keyPrefix, long maximumSize, Duration ttl) {
+        localCacheService.enableRegion(keyPrefix, maximumSize, ttl);
+    }
+
+    /**
+     * Register value codec for a model class
+     *
+     * @param type      the type
+     * @param codecType the codec type
+     */
+    @Override
+    public void registerValueCodec(Class<?> type, ValueCodecType codecType) {
+        valueCodecRegistry.register(type, codecType);
+    }
+
+    private record PendingWrite(String key, Object value, Duration ttl) {
+    }
+
+    /**
+     * Gom các lệnh SET, tự flush khi đủ một chunk.
+     */
+    private final class BatchWriter implements ICacheBatchWriter {
+        private final List<PendingWrite> pending = new ArrayList<>();
+
+        @Override
+        public ICacheBatchWriter put(String key, Object value, Duration ttl) {
+            pending.add(new PendingWrite(key, value, ttl));
+            if (pending.size() >= WRITE_BATCH_SIZE) {
+                flush();
+            }
+            return this;
+        }
+
+        @Override
+        public void flush() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            writePipelined(pending);
+            pending.clear();
+        }
+
+        @Override
+        public void close() {
+            flush();
+        }
+    }
 }
@@ -0,0 +1,313 @@
+package com.restaurant.cache.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.restaurant.cache.hotkey.HotKeyDetector;
+import com.restaurant.cache.service.ILocalCacheService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.regex.Pattern;
+
+
+/**
+ * The type Local cache service.
+ * <p>
+ * Mỗi region là một Caffeine cache (W-TinyLFU, giới hạn theo size và TTL). Khi key bị ghi/xóa
+ * trên một node, node đó publish message qua Redis pub/sub để các node khác evict bản local
+ * (và bản copy hot key của {@link HotKeyDetector}).
+ * Giá trị trong L1 được dùng chung giữa các caller nên phải được coi là read-only.
+ * <p>
+ * Giống {@link HotKeyDetector}, mỗi lần evict (local hoặc từ message của node khác) tăng write epoch của key
+ * (chia theo stripe, {@link #EPOCH_STRIPES} bộ đếm). Giá trị đọc từ Redis chỉ được put qua
+ * {@link #put(String, Object, long)} với epoch đọc trước lần đọc Redis; epoch đã đổi thì bỏ, không đưa giá trị cũ
+ * trở lại L1 sau lần evict.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LocalCacheService implements ILocalCacheService {
+
+    /**
+     * The constant INVALIDATION_CHANNEL.
+     */
+    public static final String INVALIDATION_CHANNEL = "cache:local:invalidate";
+
+    private static final String SEPARATOR = "|";
+    private static final String OP_KEY = "K";
+    private static final String OP_KEYS = "M";
+    private static final char KEYS_SEPARATOR = '\n';
+    private static final String OP_PATTERN = "P";
+    private static final String OP_ALL = "A";
+
+    /**
+     * The constant EPOCH_STRIPES.
+     */
+    public static final int EPOCH_STRIPES = 1 << 10;
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final HotKeyDetector hotKeyDetector;
+    private final String instanceId = UUID.randomUUID().toString();
+    private final Map<String, Cache<String, Object>> regions = new ConcurrentHashMap<>();
+    private final AtomicLongArray epochs = new AtomicLongArray(EPOCH_STRIPES);
+
+    @Override
+    public void enableRegion(String keyPrefix, long maximumSize, Duration ttl) {
+        regions.computeIfAbsent(keyPrefix, prefix -> {
+            log.info("Enable local cache for prefix: {}, maximumSize: {}, ttl: {}", prefix, maximumSize, ttl);
+            return Caffeine.newBuilder()
+                    .maximumSize(maximumSize)
+                    .expireAfterWrite(ttl)
+                    .build();
+        });
+    }
+
+    @Override
+    public boolean isEnabled(String key) {
+        return region(key) != null;
+    }
+
+    @Override
+    public Object get(String key) {
+        Cache<String, Object> cache = region(key);
+        return cache == null ? null : cache.getIfPresent(key);
+    }
+
+    @Override
+    public void put(String key, Object value) {
+        Cache<String, Object> cache = region(key);
+        if (cache != null && value != null) {
+            cache.put(key, value);
+        }
+    }
+
+    @Override
+    public long writeEpoch(String key) {
+        return epochs.get(stripe(key));
+    }
+
+    @Override
+    public void put(String key, Object value, long epoch) {
+        Cache<String, Object> cache = region(key);
+        if (cache != null && value != null) {
+            cache.asMap().compute(key, (k, current) -> epochs.get(stripe(k)) == epoch ? value : current);
+        }
+    }
+
+    @Override
+    public void invalidate(String key) {
+        Cache<String, Object> cache = region(key);
+        if (cache == null) {
+            return;
+        }
+        evict(cache, key);
+        publish(OP_KEY, key);
+    }
+
+    @Override
+    public void invalidate(Collection<String> keys) {
+        if (regions.isEmpty() || keys == null || keys.isEmpty()) {
+            return;
+        }
+        StringBuilder payload = new StringBuilder();
+        for (String key : keys) {
+            Cache<String, Object> cache = region(key);
+            if (cache == null) {
+                continue;
+            }
+            evict(cache, key);
+            if (!payload.isEmpty()) {
+                payload.append(KEYS_SEPARATOR);
+            }
+            payload.append(key);
+        }
+        if (!payload.isEmpty()) {
+            publish(OP_KEYS, payload.toString());
+        }
+    }
+
+    @Override
+    public void invalidatePattern(String pattern) {
+        if (regions.isEmpty()) {
+            return;
+        }
+        evictPattern(pattern);
+        publish(OP_PATTERN, pattern);
+    }
+
+    @Override
+    public void invalidateAll() {
+        if (regions.isEmpty()) {
+            return;
+        }
+        evictAll();
+        publish(OP_ALL, "");
+    }
+
+    @Override
+    public void onInvalidationMessage(String message) {
+        String[] parts = message.split(Pattern.quote(SEPARATOR), 3);
+        if (parts.length < 3 || instanceId.equals(parts[0])) {
+            return;
+        }
+        switch (parts[1]) {
+            case OP_KEY -> evictKey(parts[2]);
+            case OP_KEYS -> {
+                for (String key : parts[2].split(String.valueOf(KEYS_SEPARATOR))) {
+                    evictKey(key);
+                }
+            }
+            case OP_PATTERN -> {
+                evictPattern(parts[2]);
+                hotKeyDetector.evictAll();
+            }
+            case OP_ALL -> {
+                evictAll();
+                hotKeyDetector.evictAll();
+            }
+            default -> log.warn("Unknown local cache invalidation message: {}", message);
+        }
+    }
+
+    private void evictKey(String key) {
+        Cache<String, Object> cache = region(key);
+        if (cache != null) {
+            evict(cache, key);
+        }
+        hotKeyDetector.evict(key);
+    }
+
+    private void evict(Cache<String, Object> cache, String key) {
+        int stripe = stripe(key);
+        // tăng epoch cùng lúc với xóa entry, put của lần đọc Redis trước đó sẽ bị bỏ
+        cache.asMap().compute(key, (k, current) -> {
+            epochs.incrementAndGet(stripe);
+            return null;
+        });
+    }
+
+    private void evictAll() {
+        bumpAllEpochs();
+        regions.values().forEach(Cache::invalidateAll);
+    }
+
+    private void bumpAllEpochs() {
+        for (int i = 0; i < EPOCH_STRIPES; i++) {
+            epochs.incrementAndGet(i);
+        }
+    }
+
+    private Cache<String, Object> region(String key) {
+        if (regions.isEmpty() || key == null) {
+            return null;
+        }
+        for (Map.Entry<String, Cache<String, Object>> entry : regions.entrySet()) {
+            if (key.startsWith(entry.getKey())) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+
+    private void evictPattern(String pattern) {
+        Pattern regex = globToRegex(pattern);
+        // tăng epoch trước khi xóa: put đọc epoch cũ bị bỏ, put xong trước đó thì bị xóa ngay sau
+        bumpAllEpochs();
+        regions.values().forEach(cache -> cache.asMap().keySet().removeIf(k -> regex.matcher(k).matches()));
+    }
+
+    /**
+     * Message evict một key, cho publisher không đi qua service này (vd. service cache reactive).
+     *
+     * @param sourceId id của node gửi
+     * @param key      the key
+     * @return the string
+     */
+    public static String keyInvalidationMessage(String sourceId, String key) {
+        return message(sourceId, OP_KEY, key);
+    }
+
+    /**
+     * Message evict nhiều key trong một lần publish.
+     *
+     * @param sourceId id của node gửi
+     * @param keys     the keys
+     * @return the string
+     */
+    public static String keysInvalidationMessage(String sourceId, Collection<String> keys) {
+        return message(sourceId, OP_KEYS, String.join(String.valueOf(KEYS_SEPARATOR), keys));
+    }
+
+    /**
+     * Message evict các key khớp pattern.
+     *
+     * @param sourceId id của node gửi
+     * @param pattern  the pattern
+     * @return the string
+     */
+    public static String patternInvalidationMessage(String sourceId, String pattern) {
+        return message(sourceId, OP_PATTERN, pattern);
+    }
+
+    private static String message(String sourceId, String op, String payload) {
+        return sourceId + SEPARATOR + op + SEPARATOR + payload;
+    }
+
+    private void publish(String op, String payload) {
+        try {
+            byte[] channel = INVALIDATION_CHANNEL.getBytes(StandardCharsets.UTF_8);
+            byte[] message = message(instanceId, op, payload).getBytes(StandardCharsets.UTF_8);
+            redisTemplate.execute((RedisCallback<Long>) (RedisConnection connection) -> connection.publish(channel, message));
+        } catch (Exception e) {
+            log.error("Error publishing local cache invalidation: {} {}", op, payload, e);
+        }
+    }
+
+    private static int stripe(String key) {
+        // spread() luôn set bit thấp nhất, lấy các bit cao
+        return (spread(key.hashCode()) >>> 16) & (EPOCH_STRIPES - 1);
+    }
+
+    private static int spread(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h | 1;
+    }
+
+    /**
+     * Redis glob (*, ?) to regex.
+     */
+    private static Pattern globToRegex(String glob) {
+        StringBuilder regex = new StringBuilder(glob.length() + 8);
+        StringBuilder literal = new StringBuilder();
+        for (char c : glob.toCharArray()) {
+            if (c == '*' || c == '?') {
+                if (!literal.isEmpty()) {
+                    regex.append(Pattern.quote(literal.toString()));
+                    literal.setLength(0);
+                }
+                regex.append(c == '*' ? ".*" : ".");
+            } else {
+                literal.append(c);
+            }
+        }
+        if (!literal.isEmpty()) {
+            regex.append(Pattern.quote(literal.toString()));
+        }
+        return Pattern.compile(regex.toString());
+    }
+}
@@ -0,0 +1,263 @@
+package com.restaurant.cache.service.impl;
+
+import com.restaurant.cache.codec.CodecRedisSerializer;
+import com.restaurant.cache.exception.CacheException;
+import com.restaurant.cache.factory.CacheKeys;
+import com.restaurant.cache.metrics.CacheMetrics;
+import com.restaurant.cache.service.IReactiveCacheService;
+import com.restaurant.data.model.IFilter;
+import com.restaurant.data.model.IVersionedModel;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+
+/**
+ * The type Reactive cache service.
+ * <p>
+ * Chạy trên {@link ReactiveRedisTemplate} (key String, value bytes), encode / decode bằng cùng
+ * {@link CodecRedisSerializer} với {@link CacheService}. Không có L1: sau khi ghi / xóa, publish message
+ * invalidation lên {@link LocalCacheService#INVALIDATION_CHANNEL} để các node blocking evict bản local.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReactiveCacheService implements IReactiveCacheService {
+
+    private final ReactiveRedisTemplate<String, byte[]> reactiveCacheRedisTemplate;
+    private final CodecRedisSerializer codecRedisSerializer;
+    private final CacheMetrics cacheMetrics = CacheMetrics.global();
+    private final String instanceId = UUID.randomUUID().toString();
+
+    @Override
+    public <T> Mono<T> getCache(String key, Class<T> type) {
+        return timed(key, "get", () -> reactiveCacheRedisTemplate.opsForValue().get(key))
+                .mapNotNull(bytes -> codecRedisSerializer.deserialize(bytes, type))
+                .onErrorMap(e -> !(e instanceof CacheException), e -> {
+                    cacheMetrics.error(CacheMetrics.modelOfKey(key), "getCache");
+                    return new CacheException(e.getMessage(), e.getMessage());
+                });
+    }
+
+    @Override
+    public <T> Mono<List<T>> getList(String key, Class<T> type) {
+        return timed(key, "get", () -> reactiveCacheRedisTemplate.opsForValue().get(key))
+                .mapNotNull(bytes -> codecRedisSerializer.deserializeList(bytes, type))
+                .onErrorResume(e -> {
+                    cacheMetrics.error(CacheMetrics.modelOfKey(key), "getList");
+                    log.error("Error getting list cache for key: {}", key, e);
+                    return Mono.empty();
+                });
+    }
+
+    @Override
+    public <M> Mono<M> getModel(Class<M> modelClass, Object id) {
+        return getCache(CacheKeys.modelKey(modelClass, id), modelClass);
+    }
+
+    @Override
+    public <M> Mono<List<M>> getListModel(Class<M> modelClass, IFilter filter) {
+        return listKey(modelClass, filter)
+                .flatMap(key -> getList(key, modelClass))
+                .onErrorResume(CacheException.class, e -> {
+                    // không biết generation hiện tại: coi là miss thay vì đọc list của generation cũ
+                    log.warn("Bypass list cache of {}, list generation unknown: {}", modelClass.getSimpleName(),
+                            e.getDes());
+                    return Mono.empty();
+                });
+    }
+
+    @Override
+    public <M> Mono<List<M>> getListModelIds(Class<M> modelClass, IFilter filter) {
+        return listKey(modelClass, filter)
+                .flatMap(key -> getList(key, String.class))
+                .filter(ids -> !ids.isEmpty())
+                .flatMap(ids -> resolveListIds(modelClass, ids))
+                .onErrorResume(CacheException.class, e -> {
+                    log.warn("Bypass list cache of {}, list generation unknown: {}", modelClass.getSimpleName(),
+                            e.getDes());
+                    return Mono.empty();
+                });
+    }
+
+    @Override
+    public Mono<String> listKey(Class<?> modelClass, IFilter filter) {
+        return getCounter(CacheKeys.listGenerationKey(modelClass))
+                .map(generation -> CacheKeys.listKey(modelClass, filter, generation));
+    }
+
+    @Override
+    public <T> Mono<Map<String, T>> multiGet(Collection<String> keys, Class<T> type) {
+        if (keys == null || keys.isEmpty()) {
+            return Mono.just(new LinkedHashMap<>());
+        }
+        List<String> keyList = new ArrayList<>(keys);
+        return timed(keyList.get(0), "mget", () -> reactiveCacheRedisTemplate.opsForValue().multiGet(keyList))
+                .map(values -> {
+                    Map<String, T> result = new LinkedHashMap<>();
+                    for (int i = 0; i < keyList.size() && i < values.size(); i++) {
+                        T value = codecRedisSerializer.deserialize(values.get(i), type);
+                        if (value != null) {
+                            result.put(keyList.get(i), value);
+                        }
+                    }
+                    return result;
+                })
+                .onErrorResume(e -> {
+                    cacheMetrics.error(CacheMetrics.modelOfKey(keyList.get(0)), "multiGet");
+                    log.error("Error multi get cache for {} keys", keyList.size(), e);
+                    return Mono.just(new LinkedHashMap<>());
+                });
+    }
+
+    @Override
+    public Mono<Boolean> set(String key, Object value, Duration ttl) {
+        if (value instanceof IVersionedModel<?> versioned && versioned.getVersion() != null) {
+            return setIfNewer(key, value, versioned.getVersion(), ttl);
+        }
+        return Mono.fromCallable(() -> codecRedisSerializer.serialize(value))
+                .flatMap(bytes -> timed(key, "set", () -> reactiveCacheRedisTemplate.opsForValue().set(key, bytes, ttl)))
+                .flatMap(written -> invalidateLocal(key).thenReturn(written))
+                .onErrorResume(e -> {
+                    cacheMetrics.error(CacheMetrics.modelOfKey(key), "set");
+                    log.error("Error setting cache for key: {}", key, e);
+                    return Mono.just(false);
+                });
+    }
+
+    @Override
+    public Mono<Boolean> setIfNewer(String key, Object value, long version, Duration ttl) {
+        return Mono.fromCallable(() -> codecRedisSerializer.serialize(value))
+                .flatMap(bytes -> timed(key, "set_if_newer", () -> reactiveCacheRedisTemplate.execute(
+                        CacheScripts.SET_IF_NEWER_SCRIPT,
+                        List.of(key, CacheScripts.versionKey(key)),
+                        List.of(bytes, CacheScripts.toBytes(version), CacheScripts.toBytes(ttl.toMillis()))
+                ).next()))
+                .map(written -> written == 1L)
+                .flatMap(accepted -> accepted ? invalidateLocal(key).thenReturn(true) : Mono.just(false))
+                .onErrorResume(e -> {
+                    cacheMetrics.error(CacheMetrics.modelOfKey(key), "setIfNewer");
+                    log.error("Error setting versioned cache for key: {}", key, e);
+                    return Mono.just(false);
+                });
+    }
+
+    @Override
+    public Mono<Boolean> delete(String key) {
+        // giữ key version đến hết TTL, writer cũ không ghi đè được sau lần xóa
+        return timed(key, "del", () -> reactiveCacheRedisTemplate.delete(key))
+                .flatMap(deleted -> invalidateLocal(key).thenReturn(deleted > 0))
+                .onErrorResume(e -> {
+                    cacheMetrics.error(CacheMetrics.modelOfKey(key), "delete");
+                    log.error("Error deleting cache for key: {}", key, e);
+                    return Mono.just(false);
+                });
+    }
+
+    @Override
+    public Mono<Long> deleteAll(Collection<String> keys) {
+        if (keys == null || keys.isEmpty()) {
+            return Mono.just(0L);
+        }
+        List<String> unlinkKeys = new ArrayList<>(keys);
+        String first = unlinkKeys.get(0);
+        return timed(first, "unlink", () -> reactiveCacheRedisTemplate.unlink(unlinkKeys.toArray(String[]::new)))
+                .flatMap(deleted -> invalidateLocal(keys).thenReturn(deleted))
+                .onErrorResume(e -> {
+                    cacheMetrics.error(CacheMetrics.modelOfKey(first), "deleteAll");
+                    log.error("Error deleting cache for {} keys", keys.size(), e);
+                    return Mono.just(0L);
+                });
+    }
+
+    @Override
+    public Mono<Boolean> exists(String key) {
+        return reactiveCacheRedisTemplate.hasKey(key)
+                .onErrorResume(e -> {
+                    log.error("Error checking cache existence for key: {}", key, e);
+                    return Mono.just(false);
+                });
+    }
+
+    @Override
+    public Mono<Long> getCounter(String key) {
+        return timed(key, "get", () -> reactiveCacheRedisTemplate.opsForValue().get(key))
+                .map(bytes -> Long.parseLong(new String(bytes, StandardCharsets.UTF_8)))
+                .defaultIfEmpty(0L)
+                .onErrorMap(e -> {
+                    cacheMetrics.error(CacheMetrics.modelOfKey(key), "getCounter");
+                    return new CacheException(e.getMessage(), e.getMessage());
+                });
+    }
+
+    @Override
+    public Mono<Long> incrementCounter(String key) {
+        return timed(key, "incr", () -> reactiveCacheRedisTemplate.opsForValue().increment(key));
+    }
+
+    @Override
+    public Mono<Long> clearListModel(Class<?> modelClass) {
+        return incrementCounter(CacheKeys.listGenerationKey(modelClass));
+    }
+
+    private <M> Mono<List<M>> resolveListIds(Class<M> modelClass, List<String> ids) {
+        List<String> keys = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            keys.add(CacheKeys.modelKey(modelClass, id));
+        }
+        return multiGet(keys, modelClass).mapNotNull(cached -> {
+            if (cached.size() < new HashSet<>(keys).size()) {
+                log.debug("List ids partial miss: {} of {} models cached", cached.size(), keys.size());
+                return null;
+            }
+            List<M> models = new ArrayList<>(keys.size());
+            for (String key : keys) {
+                models.add(cached.get(key));
+            }
+            return models;
+        });
+    }
+
+    private Mono<Void> invalidateLocal(String key) {
+        return reactiveCacheRedisTemplate.convertAndSend(
+                        LocalCacheService.INVALIDATION_CHANNEL,
+                        LocalCacheService.keyInvalidationMessage(instanceId, key).getBytes(StandardCharsets.UTF_8))
+                .onErrorResume(e -> {
+                    log.error("Error publishing local cache invalidation for key: {}", key, e);
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    private Mono<Void> invalidateLocal(Collection<String> keys) {
+        return reactiveCacheRedisTemplate.convertAndSend(
+                        LocalCacheService.INVALIDATION_CHANNEL,
+                        LocalCacheService.keysInvalidationMessage(instanceId, keys).getBytes(StandardCharsets.UTF_8))
+                .onErrorResume(e -> {
+                    log.error("Error publishing local cache invalidation for {} keys", keys.size(), e);
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    private <R> Mono<R> timed(String key, String command, Supplier<Mono<R>> call) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return call.get().doFinally(signal ->
+                    cacheMetrics.redisLatency(CacheMetrics.modelOfKey(key), command, System.nanoTime() - start));
+        });
+    }
+}
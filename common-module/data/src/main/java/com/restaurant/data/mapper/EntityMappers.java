@@ -0,0 +1,55 @@
+package com.restaurant.data.mapper;
+
+/**
+ * The type Entity mappers.
+ * <p>
+ * Lấy instance của mapper đã sinh bởi annotation processor, mỗi mapper chỉ khởi tạo một lần.
+ */
+public final class EntityMappers {
+
+    /**
+     * Hậu tố tên class được sinh.
+     */
+    public static final String IMPL_SUFFIX = "Impl";
+
+    private static final ClassValue<Object> INSTANCES = new ClassValue<>() {
+        @Override
+        protected Object computeValue(Class<?> type) {
+            String name = type.getPackageName().isEmpty()
+                    ? implName(type)
+                    : type.getPackageName() + "." + implName(type);
+            try {
+                return Class.forName(name, true, type.getClassLoader()).getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Generated mapper " + name + " not found, is mapper-processor on the "
+                        + "annotationProcessor path?", e);
+            }
+        }
+    };
+
+    private EntityMappers() {
+    }
+
+    /**
+     * Gets mapper.
+     *
+     * @param <T>  the type parameter
+     * @param type interface / abstract class gắn {@link GenerateMapper}
+     * @return the mapper
+     */
+    public static <T extends IEntityMapper<?, ?>> T get(Class<T> type) {
+        return type.cast(INSTANCES.get(type));
+    }
+
+    /**
+     * Tên (không có package) của class được sinh, class lồng nhau nối bằng '_'.
+     *
+     * @param type the type
+     * @return the string
+     */
+    public static String implName(Class<?> type) {
+        String packageName = type.getPackageName();
+        String binaryName = packageName.isEmpty() ? type.getName() : type.getName().substring(packageName.length() + 1);
+        return binaryName.replace('$', '_') + IMPL_SUFFIX;
+    }
+}
@@ -0,0 +1,28 @@
+package com.restaurant.data.mapper;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Đánh dấu mapper cần sinh implementation lúc compile.
+ * <p>
+ * Property được lấy từ field (không static, không final) của entity / model và các class cha;
+ * property cùng tên và gán được kiểu được copy qua getter / setter theo quy ước JavaBean (kể cả getter / setter
+ * do Lombok sinh). Entity và model cần constructor không tham số. Collection / object lồng nhau được copy
+ * tham chiếu (shallow); property cùng tên nhưng khác kiểu bị bỏ qua kèm cảnh báo lúc compile.
+ */
+@Documented
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.SOURCE)
+public @interface GenerateMapper {
+
+    /**
+     * Property không map ở mọi chiều.
+     *
+     * @return the string [ ]
+     */
+    String[] ignore() default {};
+}
@@ -0,0 +1,57 @@
+package com.restaurant.data.mapper;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * The interface Entity mapper.
+ * <p>
+ * Chuyển đổi entity ↔ model bằng code copy field trực tiếp. Khai báo một interface (hoặc abstract class)
+ * kế thừa interface này và gắn {@link GenerateMapper}, annotation processor
+ * {@code common-module:mapper-processor} sinh class {@code <TênMapper>Impl}; lấy instance qua {@link EntityMappers}.
+ *
+ * @param <E> the entity type
+ * @param <M> the model type
+ */
+public interface IEntityMapper<E, M> {
+
+    /**
+     * To model m.
+     *
+     * @param entity the entity
+     * @return the model, null nếu entity null
+     */
+    M toModel(E entity);
+
+    /**
+     * To entity e.
+     *
+     * @param model the model
+     * @return the entity, null nếu model null
+     */
+    E toEntity(M model);
+
+    /**
+     * Merge model vào entity cho update từng phần: property null của model được bỏ qua,
+     * property kiểu primitive luôn được copy.
+     *
+     * @param model  the model
+     * @param entity the entity
+     */
+    void merge(M model, E entity);
+
+    /**
+     * To models list.
+     *
+     * @param entities the entities
+     * @return the list
+     */
+    default List<M> toModels(Collection<? extends E> entities) {
+        List<M> models = new ArrayList<>(entities.size());
+        for (E entity : entities) {
+            models.add(toModel(entity));
+        }
+        return models;
+    }
+}
@@ -7,4 +7,18 @@ import java.io.Serializable;
  * The interface Filter.
  */
 public interface IFilter extends Serializable {
+
+    /**
+     * Append cache key boolean.
+     * <p>
+     * Ghi khóa chuẩn của filter vào buffer (dùng lại giữa các lần gọi) để build key cache list: hai filter bằng
+     * nhau phải ghi ra cùng chuỗi, hai filter khác nhau phải ghi ra chuỗi khác nhau. Mặc định không ghi và trả
+     * về false, khi đó cache đọc các property của filter qua accessor đã cache theo class.
+     *
+     * @param key the key buffer
+     * @return true nếu đã ghi khóa
+     */
+    default boolean appendCacheKey(StringBuilder key) {
+        return false;
+    }
 }
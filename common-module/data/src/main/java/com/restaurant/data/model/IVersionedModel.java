@@ -0,0 +1,18 @@
+package com.restaurant.data.model;
+
+/**
+ * The interface Versioned model.
+ * <p>
+ * Model có version tăng sau mỗi lần ghi (cột {@code @Version} của entity hoặc thời điểm cập nhật dạng epoch millis).
+ * Cache chỉ nhận bản có version không nhỏ hơn bản đang có, nên một lần đọc database cũ không ghi đè được bản mới.
+ *
+ * @param <I> the type parameter
+ */
+public interface IVersionedModel<I> extends IBaseModel<I> {
+    /**
+     * Gets version.
+     *
+     * @return the version, null nếu chưa có (khi đó cache ghi không điều kiện)
+     */
+    Long getVersion();
+}
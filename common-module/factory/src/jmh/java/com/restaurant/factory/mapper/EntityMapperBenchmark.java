@@ -0,0 +1,229 @@
+package com.restaurant.factory.mapper;
+
+import com.restaurant.data.entity.IBaseEntity;
+import com.restaurant.data.mapper.EntityMappers;
+import com.restaurant.data.mapper.GenerateMapper;
+import com.restaurant.data.mapper.IEntityMapper;
+import com.restaurant.data.model.IBaseModel;
+import com.restaurant.utils.MapperUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The type Entity mapper benchmark.
+ * <p>
+ * So sánh convert entity ↔ model bằng mapper sinh bởi {@code common-module:mapper-processor} với convert qua
+ * Jackson ({@link MapperUtil#convertValue(Object, Class)}), cách các factory convert trước khi có mapper sinh sẵn.
+ * Chạy bằng {@code gradle :common-module:factory:jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EntityMapperBenchmark {
+
+    private final ItemMapper mapper = EntityMappers.get(ItemMapper.class);
+
+    private ItemEntity entity;
+    private ItemModel model;
+
+    /**
+     * Setup.
+     */
+    @Setup
+    public void setup() {
+        entity = new ItemEntity();
+        entity.setId(42L);
+        entity.setName("Bàn số 12");
+        entity.setPrice(new BigDecimal("125000.50"));
+        entity.setQuantity(3);
+        entity.setActive(true);
+        entity.setCreatedAt(LocalDateTime.of(2026, 1, 1, 12, 0));
+        model = mapper.toModel(entity);
+    }
+
+    /**
+     * To model generated.
+     *
+     * @return the item model
+     */
+    @Benchmark
+    public ItemModel toModelGenerated() {
+        return mapper.toModel(entity);
+    }
+
+    /**
+     * To model jackson.
+     *
+     * @return the item model
+     */
+    @Benchmark
+    public ItemModel toModelJackson() {
+        return MapperUtil.convertValue(entity, ItemModel.class);
+    }
+
+    /**
+     * To entity generated.
+     *
+     * @return the item entity
+     */
+    @Benchmark
+    public ItemEntity toEntityGenerated() {
+        return mapper.toEntity(model);
+    }
+
+    /**
+     * To entity jackson.
+     *
+     * @return the item entity
+     */
+    @Benchmark
+    public ItemEntity toEntityJackson() {
+        return MapperUtil.convertValue(model, ItemEntity.class);
+    }
+
+    /**
+     * The interface Item mapper.
+     */
+    @GenerateMapper
+    public interface ItemMapper extends IEntityMapper<ItemEntity, ItemModel> {
+    }
+
+    /**
+     * The type Item entity.
+     */
+    public static class ItemEntity implements IBaseEntity<Long> {
+
+        private Long id;
+        private String name;
+        private BigDecimal price;
+        private int quantity;
+        private boolean active;
+        private LocalDateTime createdAt;
+
+        @Override
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public BigDecimal getPrice() {
+            return price;
+        }
+
+        public void setPrice(BigDecimal price) {
+            this.price = price;
+        }
+
+        public int getQuantity() {
+            return quantity;
+        }
+
+        public void setQuantity(int quantity) {
+            this.quantity = quantity;
+        }
+
+        public boolean isActive() {
+            return active;
+        }
+
+        public void setActive(boolean active) {
+            this.active = active;
+        }
+
+        public LocalDateTime getCreatedAt() {
+            return createdAt;
+        }
+
+        public void setCreatedAt(LocalDateTime createdAt) {
+            this.createdAt = createdAt;
+        }
+    }
+
+    /**
+     * The type Item model.
+     */
+    public static class ItemModel implements IBaseModel<Long> {
+
+        private Long id;
+        private String name;
+        private BigDecimal price;
+        private Integer quantity;
+        private Boolean active;
+        private LocalDateTime createdAt;
+
+        @Override
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public BigDecimal getPrice() {
+            return price;
+        }
+
+        public void setPrice(BigDecimal price) {
+            this.price = price;
+        }
+
+        public Integer getQuantity() {
+            return quantity;
+        }
+
+        public void setQuantity(Integer quantity) {
+            this.quantity = quantity;
+        }
+
+        public Boolean getActive() {
+            return active;
+        }
+
+        public void setActive(Boolean active) {
+            this.active = active;
+        }
+
+        public LocalDateTime getCreatedAt() {
+            return createdAt;
+        }
+
+        public void setCreatedAt(LocalDateTime createdAt) {
+            this.createdAt = createdAt;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.restaurant.factory;
+
+import com.restaurant.data.model.IBaseModel;
+import com.restaurant.data.model.IFilter;
+import com.restaurant.factory.concurrent.DataFactoryExecutor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * The type Async data factory.
+ * <p>
+ * Chạy mỗi lời gọi {@link IDataFactory} trên một virtual thread. Số lời gọi đồng thời xuống database
+ * được giới hạn trong factory ({@link BaseDataFactory#dbPermits()}), chỉ quanh đoạn load / ghi database,
+ * nên lời gọi trúng cache không phải chờ permit.
+ *
+ * @param <I> the type parameter
+ * @param <M> the type parameter
+ */
+public class AsyncDataFactory<I extends Serializable, M extends IBaseModel<I>> implements IAsyncDataFactory<I, M> {
+
+    private final IDataFactory<I, M> dataFactory;
+    private final Executor executor;
+
+    /**
+     * Instantiates a new Async data factory với executor dùng chung.
+     *
+     * @param dataFactory the data factory
+     */
+    public AsyncDataFactory(IDataFactory<I, M> dataFactory) {
+        this(dataFactory, DataFactoryExecutor.shared());
+    }
+
+    /**
+     * Instantiates a new Async data factory.
+     *
+     * @param dataFactory the data factory
+     * @param executor    the executor
+     */
+    public AsyncDataFactory(IDataFactory<I, M> dataFactory, Executor executor) {
+        this.dataFactory = dataFactory;
+        this.executor = executor;
+    }
+
+    @Override
+    public CompletableFuture<Long> count() {
+        return submit(dataFactory::count);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> exist(I id) {
+        return submit(() -> dataFactory.exist(id));
+    }
+
+    @Override
+    public CompletableFuture<M> create(M model) {
+        return submit(() -> dataFactory.create(model));
+    }
+
+    @Override
+    public CompletableFuture<List<M>> createAll(Collection<M> models) {
+        return submit(() -> dataFactory.createAll(models));
+    }
+
+    @Override
+    public CompletableFuture<Void> delete(I id) {
+        return submit(() -> {
+            dataFactory.delete(id);
+            return null;
+        });
+    }
+
+    @Override
+    public CompletableFuture<M> getModel(I id) {
+        return submit(() -> dataFactory.getModel(id));
+    }
+
+    @Override
+    public <F extends IFilter> CompletableFuture<M> getModel(I id, F filter) {
+        return submit(() -> dataFactory.getModel(id, filter));
+    }
+
+    @Override
+    public CompletableFuture<Map<I, M>> getModels(Collection<I> ids) {
+        return submit(() -> dataFactory.getModels(ids));
+    }
+
+    @Override
+    public CompletableFuture<M> update(M model) {
+        return submit(() -> dataFactory.update(model));
+    }
+
+    @Override
+    public <F extends IFilter> CompletableFuture<List<M>> getList(F iFilter) {
+        return submit(() -> dataFactory.getList(iFilter));
+    }
+
+    @Override
+    public CompletableFuture<List<M>> getList() {
+        return submit(dataFactory::getList);
+    }
+
+    @Override
+    public <F extends IFilter> CompletableFuture<Page<M>> getPage(F iFilter, Pageable pageable) {
+        return submit(() -> dataFactory.getPage(iFilter, pageable));
+    }
+
+    private <T> CompletableFuture<T> submit(Call<T> call) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return call.call();
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            }
+        }, executor);
+    }
+
+    /**
+     * Lời gọi factory có thể ném checked exception.
+     *
+     * @param <T> the type parameter
+     */
+    @FunctionalInterface
+    private interface Call<T> {
+        T call() throws Exception;
+    }
+}
@@ -2,18 +2,34 @@ package com.restaurant.factory;
 
 
 import com.restaurant.cache.exception.CacheException;
+import com.restaurant.cache.factory.CacheConfigFactory;
 import com.restaurant.cache.factory.ICachingFactory;
+import com.restaurant.cache.metrics.CacheMetrics;
+import com.restaurant.cache.model.CacheEntry;
+import com.restaurant.cache.model.InvalidationReport;
+import com.restaurant.cache.service.ICacheBatchWriter;
 import com.restaurant.cache.service.ICacheService;
 import com.restaurant.data.model.IFilter;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import lombok.extern.slf4j.Slf4j;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * .
+ * <p>
+ * Hit / miss / lỗi đọc cache được đếm vào {@link CacheMetrics}, tag theo model.
+ * Ở chế độ {@link CacheConfigFactory#cacheListIds()} key list chỉ chứa id, đọc list là đọc id rồi MGET các model;
+ * thiếu model nào thì coi cả list là miss.
  *
  * @param <M> the type parameter
  * @author namdx.
@@ -21,11 +37,22 @@ import java.util.List;
 @Slf4j
 public abstract class BaseCachingFactory<M> implements ICachingFactory<M> {
 
+    private static final String KIND_MODEL = "model";
+    private static final String KIND_LIST = "list";
+
     /**
      * The Cache service.
      */
     protected final ICacheService iCacheService;
 
+    /**
+     * The Cache metrics.
+     */
+    protected final CacheMetrics cacheMetrics = CacheMetrics.global();
+
+    private volatile boolean cacheRegistered;
+    private volatile String modelTag;
+
     /**
      * Instantiates a new Base caching factory.
      *
@@ -35,75 +62,419 @@ public abstract class BaseCachingFactory<M> implements ICachingFactory<M> {
         this.iCacheService = iCacheService;
     }
 
+    /**
+     * Đăng ký cấu hình cache theo model (local cache...) với cache service, chỉ chạy một lần.
+     */
+    protected void registerCache() {
+        if (cacheRegistered) {
+            return;
+        }
+        synchronized (this) {
+            if (cacheRegistered) {
+                return;
+            }
+            CacheConfigFactory<M> config = cacheFactory();
+            iCacheService.registerValueCodec(config.getModelClass(), config.valueCodec());
+            if (config.cacheModel() && config.cacheLocal()) {
+                iCacheService.enableLocalCache(
+                        makeSingleKeyCache("", config.getModelClass()),
+                        config.localMaximumSize(),
+                        config.localTtl()
+                );
+            }
+            modelTag = config.getModelClass().getSimpleName().toLowerCase();
+            cacheRegistered = true;
+        }
+    }
+
+    /**
+     * Tag model cho metrics.
+     *
+     * @return the string
+     */
+    protected String modelTag() {
+        registerCache();
+        return modelTag;
+    }
+
     @Override
     public M getCacheModel(Object key) {
         try {
             if (cacheFactory().cacheModel()) {
-                return iCacheService.getCache(
+                registerCache();
+                M model = iCacheService.getCache(
                         makeSingleKeyCache(key, cacheFactory().getModelClass()),
                         cacheFactory().getModelClass());
+                cacheMetrics.get(modelTag, KIND_MODEL, model != null ? CacheMetrics.HIT : CacheMetrics.MISS);
+                return model;
             }
         } catch (Exception e) {
+            cacheMetrics.error(modelTag(), "getCacheModel");
             log.warn("Cache GetModel exception. Error: {}", e.getMessage());
         }
         return null;
     }
 
+    /**
+     * Gets cache model kèm TTL còn lại.
+     *
+     * @param key the key
+     * @return the cache entry, null nếu miss hoặc lỗi
+     */
+    protected CacheEntry<M> getCacheModelEntry(Object key) {
+        try {
+            if (cacheFactory().cacheModel()) {
+                registerCache();
+                CacheEntry<M> entry = iCacheService.getEntry(
+                        makeSingleKeyCache(key, cacheFactory().getModelClass()),
+                        cacheFactory().getModelClass());
+                cacheMetrics.get(modelTag, KIND_MODEL, entry == null ? CacheMetrics.MISS
+                        : entry.tombstone() ? CacheMetrics.TOMBSTONE : CacheMetrics.HIT);
+                return entry;
+            }
+        } catch (Exception e) {
+            cacheMetrics.error(modelTag(), "getCacheModelEntry");
+            log.warn("Cache GetModelEntry exception. Error: {}", e.getMessage());
+        }
+        return null;
+    }
+
+    /**
+     * Gets cache list model kèm TTL còn lại.
+     *
+     * @param listKey key list, tạo bởi {@link #makeKeyCacheList(Class, IFilter)}
+     * @return the cache entry, null nếu miss hoặc lỗi
+     */
+    protected CacheEntry<List<M>> getCacheListModelEntry(String listKey) {
+        try {
+            if (cacheListIds()) {
+                registerCache();
+                CacheEntry<List<String>> idEntry = iCacheService.getListEntry(listKey, String.class);
+                List<M> models = idEntry == null ? null : resolveListIds(idEntry.value());
+                cacheMetrics.get(modelTag, KIND_LIST, models != null ? CacheMetrics.HIT : CacheMetrics.MISS);
+                return models == null ? null : new CacheEntry<>(models, idEntry.remainingTtl());
+            }
+            if (cacheFactory().cacheListModel()) {
+                registerCache();
+                CacheEntry<List<M>> entry = iCacheService.getListEntry(listKey, cacheFactory().getModelClass());
+                cacheMetrics.get(modelTag, KIND_LIST, entry != null ? CacheMetrics.HIT : CacheMetrics.MISS);
+                return entry;
+            }
+        } catch (Exception e) {
+            cacheMetrics.error(modelTag(), "getCacheListModelEntry");
+            log.warn("Cache GetListModelEntry exception. Error: {}", e.getMessage());
+        }
+        return null;
+    }
+
+    /**
+     * TTL thực tế khi ghi Redis: ở chế độ cacheAsync key được giữ thêm staleGracePeriod.
+     *
+     * @param ttl the ttl
+     * @return the duration
+     */
+    protected Duration storeTtl(Duration ttl) {
+        CacheConfigFactory<M> config = cacheFactory();
+        return config.cacheAsync() ? ttl.plus(config.staleGracePeriod()) : ttl;
+    }
+
+    @Override
+    public Map<Object, M> getCacheModels(Collection<?> keys) {
+        Map<Object, M> result = new LinkedHashMap<>();
+        if (keys == null || keys.isEmpty() || !cacheFactory().cacheModel()) {
+            return result;
+        }
+        try {
+            registerCache();
+            Class<M> modelClass = cacheFactory().getModelClass();
+            Map<String, Object> keyCaches = new LinkedHashMap<>();
+            for (Object key : keys) {
+                keyCaches.put(makeSingleKeyCache(key, modelClass), key);
+            }
+            Map<String, M> cached = iCacheService.multiGet(keyCaches.keySet(), modelClass);
+            for (Map.Entry<String, M> entry : cached.entrySet()) {
+                result.put(keyCaches.get(entry.getKey()), entry.getValue());
+            }
+            cacheMetrics.get(modelTag, KIND_MODEL, CacheMetrics.HIT, result.size());
+            cacheMetrics.get(modelTag, KIND_MODEL, CacheMetrics.MISS, keyCaches.size() - result.size());
+        } catch (Exception e) {
+            cacheMetrics.error(modelTag(), "getCacheModels");
+            log.warn("Cache GetModels exception. Error: {}", e.getMessage());
+        }
+        return result;
+    }
+
+    @Override
+    public void cachePutModels(Map<?, M> values, Duration ttl) {
+        if (values == null || values.isEmpty() || !cacheFactory().cacheModel()) {
+            return;
+        }
+        registerCache();
+        Map<String, M> keyCaches = new HashMap<>();
+        for (Map.Entry<?, M> entry : values.entrySet()) {
+            keyCaches.put(makeSingleKeyCache(entry.getKey(), cacheFactory().getModelClass()), entry.getValue());
+        }
+        iCacheService.setAll(keyCaches, storeTtl(ttl));
+    }
+
     @Override
     public void cachePutModel(Object key, M value, Duration ttl) {
         if (cacheFactory().cacheModel()) {
+            registerCache();
             iCacheService.set(
                     makeSingleKeyCache(key, cacheFactory().getModelClass()),
                     value,
-                    ttl
+                    storeTtl(ttl)
             );
         }
     }
 
+    /**
+     * Ghi tombstone (negative cache) cho key của model không tồn tại, chỉ khi key chưa có giá trị
+     * (xem {@link ICacheService#setTombstone(String, Duration)}).
+     *
+     * @param key the key
+     */
+    protected void cacheTombstone(Object key) {
+        CacheConfigFactory<M> config = cacheFactory();
+        if (config.cacheModel() && config.cacheNegative()) {
+            registerCache();
+            iCacheService.setTombstone(makeSingleKeyCache(key, config.getModelClass()), config.negativeTtl());
+        }
+    }
+
     @Override
     public void clearCacheModelByKey(Object key) {
         if (cacheFactory().cacheModel()) {
+            registerCache();
             iCacheService.delete(
                     makeSingleKeyCache(key, cacheFactory().getModelClass())
             );
         }
     }
 
+    @Override
+    public void clearCacheModelByKeys(Collection<?> keys) {
+        if (keys == null || keys.isEmpty() || !cacheFactory().cacheModel()) {
+            return;
+        }
+        registerCache();
+        List<String> keyCaches = new ArrayList<>(keys.size());
+        for (Object key : keys) {
+            keyCaches.add(makeSingleKeyCache(key, cacheFactory().getModelClass()));
+        }
+        iCacheService.deleteAll(keyCaches);
+    }
+
     @Override
     public void clearCacheModelByPattern() {
         if (cacheFactory().cacheModel()) {
-            iCacheService.deletePattern(cacheFactory().getModelClass().getSimpleName());
+            registerCache();
+            iCacheService.deletePattern(makeSingleKeyCache("*", cacheFactory().getModelClass()));
+        }
+    }
+
+    @Override
+    public CompletableFuture<InvalidationReport> clearCacheModelByPatternAsync() {
+        if (cacheFactory().cacheModel()) {
+            registerCache();
+            return iCacheService.deletePatternAsync(makeSingleKeyCache("*", cacheFactory().getModelClass()));
         }
+        return CompletableFuture.completedFuture(null);
     }
 
+    /**
+     * Clear cache list model: tăng generation của model (một lệnh INCR), các key list cũ
+     * không còn được đọc và tự hết hạn theo TTL.
+     */
     @Override
     public void clearCacheListModel() throws CacheException, JsonProcessingException {
         if (cacheFactory().cacheListModel()) {
-            iCacheService.deletePattern(
-                    makeKeyCacheList(cacheFactory().getModelClass(), null)
-            );
+            iCacheService.incrementCounter(makeKeyListGeneration(cacheFactory().getModelClass()));
+        }
+    }
+
+    /**
+     * Make key cache list theo generation hiện tại của model.
+     *
+     * @param mClass  the m class
+     * @param iFilter the filter
+     * @return the string
+     * @throws IllegalStateException không đọc được generation
+     */
+    @Override
+    public String makeKeyCacheList(Class<M> mClass, IFilter iFilter) {
+        try {
+            return makeKeyCacheList(mClass, iFilter, iCacheService.getCounter(makeKeyListGeneration(mClass)));
+        } catch (CacheException e) {
+            throw new IllegalStateException("List generation unknown: " + e.getDes(), e);
+        }
+    }
+
+    /**
+     * Key list của filter theo generation hiện tại.
+     * <p>
+     * Trả về null (không đọc / ghi cache list) khi model không cache list, khi đó không tốn thêm lệnh GET
+     * generation và digest filter; hoặc khi không đọc được generation, vì dùng generation 0 có thể đọc lại
+     * list đã bị clear.
+     *
+     * @param iFilter the filter
+     * @return the key, null nếu bỏ qua cache list
+     */
+    protected String currentListKey(IFilter iFilter) {
+        CacheConfigFactory<M> config = cacheFactory();
+        if (!config.cacheListModel()) {
+            return null;
+        }
+        try {
+            long generation = iCacheService.getCounter(makeKeyListGeneration(config.getModelClass()));
+            return makeKeyCacheList(config.getModelClass(), iFilter, generation);
+        } catch (CacheException e) {
+            log.warn("Bypass list cache of {}, list generation unknown: {}", modelTag(), e.getDes());
+            return null;
         }
     }
 
     @Override
     public <F extends IFilter> List<M> getCacheListModel(F filter) {
+        String listKey = currentListKey(filter);
+        return listKey == null ? Collections.emptyList() : getCacheListModel(listKey);
+    }
+
+    /**
+     * Gets cache list model.
+     *
+     * @param listKey the list key
+     * @return the cache list model
+     */
+    protected List<M> getCacheListModel(String listKey) {
+        if (cacheListIds()) {
+            registerCache();
+            List<M> models = resolveListIds(iCacheService.getList(listKey, String.class));
+            cacheMetrics.get(modelTag, KIND_LIST, models != null ? CacheMetrics.HIT : CacheMetrics.MISS);
+            return models == null ? Collections.emptyList() : models;
+        }
         if (cacheFactory().cacheListModel()) {
-            return iCacheService.getList(
-                    makeKeyCacheList(cacheFactory().getModelClass(), filter),
-                    cacheFactory().getModelClass()
-            );
+            registerCache();
+            List<M> models = iCacheService.getList(listKey, cacheFactory().getModelClass());
+            cacheMetrics.get(modelTag, KIND_LIST, models.isEmpty() ? CacheMetrics.MISS : CacheMetrics.HIT);
+            return models;
         }
         return Collections.emptyList();
     }
 
+    /**
+     * Gets cache list total.
+     *
+     * @param totalKey key tổng, tạo bởi {@link #makeKeyCacheTotal(String)}
+     * @return the total, null nếu miss hoặc lỗi
+     */
+    protected Long getCacheListTotal(String totalKey) {
+        try {
+            if (cacheFactory().cacheListModel()) {
+                registerCache();
+                return iCacheService.getCache(totalKey, Long.class);
+            }
+        } catch (Exception e) {
+            cacheMetrics.error(modelTag(), "getCacheListTotal");
+            log.warn("Cache GetListTotal exception. Error: {}", e.getMessage());
+        }
+        return null;
+    }
+
+    /**
+     * Cache list total.
+     *
+     * @param totalKey the total key
+     * @param total    the total
+     * @param ttl      the ttl
+     */
+    protected void cacheListTotal(String totalKey, long total, Duration ttl) {
+        if (cacheFactory().cacheListModel()) {
+            registerCache();
+            iCacheService.set(totalKey, total, storeTtl(ttl));
+        }
+    }
+
     @Override
     public <F extends IFilter> void cacheListModel(F iFilter, List<M> value, Duration ttl) throws CacheException {
+        String listKey = currentListKey(iFilter);
+        if (listKey != null) {
+            cacheListModel(listKey, value, ttl);
+        }
+    }
+
+    /**
+     * Cache list model.
+     *
+     * @param listKey the list key
+     * @param value   the value
+     * @param ttl     the ttl
+     */
+    protected void cacheListModel(String listKey, List<M> value, Duration ttl) {
         if (cacheFactory().cacheListModel()) {
-            iCacheService.set(
-                    makeKeyCacheList(cacheFactory().getModelClass(), iFilter),
-                    value,
-                    ttl
-            );
+            registerCache();
+            iCacheService.set(listKey, value, storeTtl(ttl));
+        }
+    }
+
+    /**
+     * Chế độ list chỉ lưu id đang bật hay không.
+     *
+     * @return the boolean
+     */
+    protected boolean cacheListIds() {
+        CacheConfigFactory<M> config = cacheFactory();
+        return config.cacheListIds() && config.cacheListModel() && config.cacheModel();
+    }
+
+    /**
+     * Cache list ids: key list lưu id (dạng String, theo thứ tự), key của từng model được ghi lại
+     * cùng pipeline để MGET sau đó đọc được đủ.
+     *
+     * @param listKey the list key
+     * @param ids     the ids, cùng thứ tự với models
+     * @param models  the models
+     * @param ttl     the ttl của list
+     */
+    protected void cacheListIds(String listKey, List<?> ids, List<M> models, Duration ttl) {
+        CacheConfigFactory<M> config = cacheFactory();
+        registerCache();
+        List<String> idValues = new ArrayList<>(ids.size());
+        try (ICacheBatchWriter writer = iCacheService.batchWriter()) {
+            for (int i = 0; i < ids.size(); i++) {
+                Object id = ids.get(i);
+                idValues.add(String.valueOf(id));
+                writer.put(makeSingleKeyCache(id, config.getModelClass()), models.get(i), storeTtl(config.singleTtl()));
+            }
+            writer.put(listKey, idValues, storeTtl(ttl));
+        }
+    }
+
+    /**
+     * Đọc các model của list id bằng một lệnh MGET.
+     *
+     * @param ids the ids
+     * @return the models theo thứ tự id, null nếu list rỗng hoặc thiếu model
+     */
+    private List<M> resolveListIds(List<String> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return null;
+        }
+        Class<M> modelClass = cacheFactory().getModelClass();
+        List<String> keyCaches = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            keyCaches.add(makeSingleKeyCache(id, modelClass));
+        }
+        Map<String, M> cached = iCacheService.multiGet(keyCaches, modelClass);
+        if (cached.size() < new HashSet<>(keyCaches).size()) {
+            log.debug("List ids partial miss: {} of {} models cached", cached.size(), keyCaches.size());
+            return null;
+        }
+        List<M> models = new ArrayList<>(keyCaches.size());
+        for (String keyCache : keyCaches) {
+            models.add(cached.get(keyCache));
         }
+        return models;
     }
 }
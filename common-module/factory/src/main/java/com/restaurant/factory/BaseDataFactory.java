@@ -1,16 +1,42 @@
 package com.restaurant.factory;
 
 import com.restaurant.cache.exception.CacheException;
+import com.restaurant.cache.factory.CacheConfigFactory;
+import com.restaurant.cache.model.CacheEntry;
+import com.restaurant.cache.service.ICacheBatchWriter;
 import com.restaurant.cache.service.ICacheService;
 import com.restaurant.data.enums.IBaseErrorCode;
 import com.restaurant.data.enums.NotFound;
 import com.restaurant.data.model.IBaseModel;
 import com.restaurant.data.model.IFilter;
+import com.restaurant.factory.concurrent.DataFactoryExecutor;
+import com.restaurant.factory.concurrent.DbPermits;
+import com.restaurant.factory.concurrent.RefreshAheadExecutor;
+import com.restaurant.factory.concurrent.SingleFlight;
 import com.restaurant.factory.exception.DataFactoryException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
 
 import java.io.Serializable;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 /**
  * .
@@ -24,6 +50,16 @@ public abstract class BaseDataFactory<
         I extends Serializable,
         M extends IBaseModel<I>> extends BaseCachingFactory<M> implements IDataFactory<I, M> {
 
+    private static final String LOCK_SUFFIX = "lock";
+    private static final long LOCK_POLL_INTERVAL_MS = 20;
+    private static final int DEFAULT_STREAM_FETCH_SIZE = 500;
+
+    /**
+     * Gộp các lần load đồng thời theo cache key.
+     */
+    protected final SingleFlight singleFlight = new SingleFlight();
+
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
 
     /**
      * Instantiates a new Base caching factory.
@@ -36,17 +72,84 @@ public abstract class BaseDataFactory<
 
     @Override
     public M create(M model) {
-        return aroundCreate(preCreate(model));
+        M created;
+        try (DbPermits.Permit permit = dbPermits().acquire()) {
+            created = aroundCreate(preCreate(model));
+        }
+        if (cacheFactory().cacheNegative() && created != null && created.getId() != null) {
+            // ghi đè tombstone cũ bằng model mới; tombstone ghi NX nên lần đọc miss đang chạy không đè lại được
+            cachePutModel(created.getId(), created, cacheFactory().singleTtl());
+        }
+        return created;
+    }
+
+    @Override
+    public List<M> createAll(Collection<M> models) {
+        if (models == null || models.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<M> prepared = new ArrayList<>(models.size());
+        for (M model : models) {
+            prepared.add(preCreate(model));
+        }
+        List<M> created;
+        try (DbPermits.Permit permit = dbPermits().acquire()) {
+            created = aroundCreateAll(prepared);
+        }
+        if (cacheFactory().cacheNegative()) {
+            Map<I, M> values = new LinkedHashMap<>();
+            for (M model : created) {
+                if (model != null && model.getId() != null) {
+                    values.put(model.getId(), model);
+                }
+            }
+            cachePutModels(values);
+        }
+        return created;
+    }
+
+    @Override
+    public List<M> updateAll(Collection<M> models) throws CacheException, DataFactoryException {
+        if (models == null || models.isEmpty()) {
+            return new ArrayList<>();
+        }
+        for (M model : models) {
+            // aroundUpdateAll không nhận filter, không được bỏ qua filter mà preUpdate yêu cầu
+            if (preUpdate(model, null) != null) {
+                throw new DataFactoryException("preUpdate returned a filter, use update(model, filter) instead of updateAll");
+            }
+        }
+        try (DbPermits.Permit permit = dbPermits().acquire()) {
+            return aroundUpdateAll(new ArrayList<>(models));
+        }
+    }
+
+    @Override
+    public void deleteAll(Collection<I> ids) throws DataFactoryException {
+        if (ids == null || ids.isEmpty()) {
+            return;
+        }
+        Set<I> uniqueIds = new LinkedHashSet<>(ids);
+        for (I id : uniqueIds) {
+            preDelete(id, null);
+        }
+        try (DbPermits.Permit permit = dbPermits().acquire()) {
+            aroundDeleteAll(uniqueIds);
+        }
     }
 
     @Override
     public void delete(I id) throws DataFactoryException {
-        aroundDelete(id, preDelete(id, null));
+        try (DbPermits.Permit permit = dbPermits().acquire()) {
+            aroundDelete(id, preDelete(id, null));
+        }
     }
 
     @Override
     public <F extends IFilter> void delete(F filter) throws DataFactoryException {
-        aroundDelete(null, preDelete(null, filter));
+        try (DbPermits.Permit permit = dbPermits().acquire()) {
+            aroundDelete(null, preDelete(null, filter));
+        }
     }
 
     @Override
@@ -56,17 +159,46 @@ public abstract class BaseDataFactory<
 
     @Override
     public <F extends IFilter> M getModel(I id, F filter) throws CacheException, DataFactoryException {
-        M model = null;
-        if (id != null) {
-            model = getCacheModel(id);
+        if (id == null) {
+            return loadModel(null, filter);
         }
-        if (model != null) {
-            log.info("get from redis cache for key: {}", id);
-            return model;
+        String cacheKey = makeSingleKeyCache(id, cacheFactory().getModelClass());
+        F loadFilter = filter;
+        SingleFlight.Loader<M> loader = () -> loadModel(id, loadFilter);
+        if (cacheFactory().cacheAsync() || cacheFactory().cacheNegative()) {
+            CacheEntry<M> entry = getCacheModelEntry(id);
+            if (entry != null && entry.tombstone()) {
+                log.debug("get tombstone from redis cache for key: {}", id);
+                throw new DataFactoryException(notFound());
+            }
+            if (entry != null) {
+                log.debug("get from redis cache for key: {}", id);
+                return cacheFactory().cacheAsync()
+                        ? refreshAhead(cacheKey, entry, cacheFactory().singleTtl(), loader)
+                        : entry.value();
+            }
+        } else {
+            M model = getCacheModel(id);
+            if (model != null) {
+                log.debug("get from redis cache for key: {}", id);
+                return model;
+            }
         }
-        log.info("get from database for key: {}", id);
+        return coalesce(cacheKey, () -> getCacheModel(id), loader);
+    }
+
+    private <F extends IFilter> M loadModel(I id, F filter) throws CacheException, DataFactoryException {
+        log.debug("get from database for key: {}", id);
         filter = preGetModel(id, filter);
-        model = aroundGetModel(id, filter);
+        M model;
+        try (DbPermits.Permit permit = dbPermits().acquire()) {
+            model = aroundGetModel(id, filter);
+        } catch (DataFactoryException e) {
+            if (id != null && isNotFound(e)) {
+                cacheTombstone(id);
+            }
+            throw e;
+        }
         if (id != null && model != null) {
             cachePutModel(id, model);
         }
@@ -78,6 +210,38 @@ public abstract class BaseDataFactory<
         return getModel(null, filter);
     }
 
+    @Override
+    public Map<I, M> getModels(Collection<I> ids) throws CacheException, DataFactoryException {
+        Map<I, M> models = new LinkedHashMap<>();
+        if (ids == null || ids.isEmpty()) {
+            return models;
+        }
+        Set<I> uniqueIds = new LinkedHashSet<>(ids);
+        uniqueIds.remove(null);
+        Map<Object, M> cached = getCacheModels(uniqueIds);
+        List<I> missingIds = new ArrayList<>();
+        for (I id : uniqueIds) {
+            if (!cached.containsKey(id)) {
+                missingIds.add(id);
+            }
+        }
+        Map<I, M> loaded = Map.of();
+        if (!missingIds.isEmpty()) {
+            log.debug("get from database for {} of {} keys", missingIds.size(), uniqueIds.size());
+            try (DbPermits.Permit permit = dbPermits().acquire()) {
+                loaded = aroundGetModels(missingIds);
+            }
+            cachePutModels(loaded);
+        }
+        for (I id : uniqueIds) {
+            M model = cached.containsKey(id) ? cached.get(id) : loaded.get(id);
+            if (model != null) {
+                models.put(id, model);
+            }
+        }
+        return models;
+    }
+
     @Override
     public M update(M model) throws CacheException, DataFactoryException {
         return update(model, null);
@@ -85,22 +249,376 @@ public abstract class BaseDataFactory<
 
     @Override
     public <F extends IFilter> M update(M model, F iFilter) throws CacheException, DataFactoryException {
-        return aroundUpdate(model, preUpdate(model, iFilter));
+        try (DbPermits.Permit permit = dbPermits().acquire()) {
+            return aroundUpdate(model, preUpdate(model, iFilter));
+        }
     }
 
     @Override
     public <F extends IFilter> List<M> getList(F iFilter) throws CacheException, DataFactoryException {
-        List<M> models = getCacheListModel(iFilter);
-        if (!models.isEmpty()) {
-            return models;
+        String cacheKey = currentListKey(iFilter);
+        if (cacheKey == null) {
+            // không cache list: không có key để gộp theo filter, load thẳng
+            return loadList(null, iFilter);
+        }
+        SingleFlight.Loader<List<M>> loader = () -> loadList(cacheKey, iFilter);
+        if (cacheFactory().cacheAsync()) {
+            CacheEntry<List<M>> entry = getCacheListModelEntry(cacheKey);
+            if (entry != null && !entry.value().isEmpty()) {
+                return refreshAhead(cacheKey, entry, cacheFactory().cacheListTtl(), loader);
+            }
+        } else {
+            List<M> models = getCacheListModel(cacheKey);
+            if (!models.isEmpty()) {
+                return models;
+            }
         }
-        models = aroundGetListModel(iFilter);
-        if (models != null) {
-            cacheListModel(iFilter, models);
+        return coalesce(
+                cacheKey,
+                () -> {
+                    List<M> cached = getCacheListModel(cacheKey);
+                    return cached.isEmpty() ? null : cached;
+                },
+                loader
+        );
+    }
+
+    private <F extends IFilter> List<M> loadList(String cacheKey, F iFilter) throws CacheException, DataFactoryException {
+        List<M> models;
+        try (DbPermits.Permit permit = dbPermits().acquire()) {
+            models = aroundGetListModel(iFilter);
+        }
+        if (models != null && cacheKey == null) {
+            if (cacheFactory().warmModelFromList()) {
+                warmModels(models);
+            }
+        } else if (models != null) {
+            if (cacheFactory().warmModelFromList()) {
+                cacheListAndModels(cacheKey, models);
+            } else {
+                cacheListModel(cacheKey, models, cacheFactory().cacheListTtl());
+            }
         }
         return models;
     }
 
+    private void warmModels(List<M> models) {
+        Map<I, M> values = new LinkedHashMap<>();
+        for (M model : models) {
+            if (model != null && model.getId() != null) {
+                values.put(model.getId(), model);
+            }
+        }
+        cachePutModels(values);
+    }
+
+    @Override
+    public <F extends IFilter> Page<M> getPage(F iFilter, Pageable pageable) throws CacheException, DataFactoryException {
+        if (pageable.isUnpaged()) {
+            List<M> models = getList(iFilter);
+            return new PageImpl<>(models == null ? List.of() : models);
+        }
+        String listKey = currentListKey(iFilter);
+        if (listKey == null) {
+            return loadPage(iFilter, pageable, null, null);
+        }
+        String pageKey = makeKeyCachePage(listKey, pageable);
+        String totalKey = makeKeyCacheTotal(listKey);
+        Supplier<Page<M>> lookup = () -> {
+            List<M> content = getCacheListModel(pageKey);
+            Long total = content.isEmpty() ? null : getCacheListTotal(totalKey);
+            return total == null ? null : new PageImpl<>(content, pageable, total);
+        };
+        Page<M> cached = lookup.get();
+        if (cached != null) {
+            return cached;
+        }
+        return coalesce(pageKey, lookup, () -> loadPage(iFilter, pageable, pageKey, totalKey));
+    }
+
+    /**
+     * Load page từ database; pageKey / totalKey null thì không đọc / ghi cache.
+     */
+    private Page<M> loadPage(IFilter iFilter, Pageable pageable, String pageKey, String totalKey)
+            throws CacheException, DataFactoryException {
+        Slice<M> slice;
+        List<M> content;
+        long total;
+        try (DbPermits.Permit permit = dbPermits().acquire()) {
+            slice = aroundGetPage(iFilter, pageable);
+            content = slice.getContent();
+            if (slice instanceof Page<M> page) {
+                total = page.getTotalElements();
+            } else if (!slice.hasNext() && (!content.isEmpty() || pageable.getOffset() == 0)) {
+                // page cuối: tổng suy ra được, không cần count
+                total = pageable.getOffset() + content.size();
+            } else {
+                Long cachedTotal = totalKey == null ? null : getCacheListTotal(totalKey);
+                total = cachedTotal != null ? cachedTotal : aroundCountList(iFilter);
+            }
+        }
+        if (pageKey == null) {
+            return new PageImpl<>(content, pageable, total);
+        }
+        if (!content.isEmpty()) {
+            cacheListModel(pageKey, content, cacheFactory().cacheListTtl());
+        }
+        cacheListTotal(totalKey, total, cacheFactory().cacheListTtl());
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    @Override
+    public <F extends IFilter> Window<M> getWindow(F iFilter, ScrollPosition position, int limit)
+            throws CacheException, DataFactoryException {
+        try (DbPermits.Permit permit = dbPermits().acquire()) {
+            return aroundGetWindow(iFilter, position, limit);
+        }
+    }
+
+    @Override
+    public <F extends IFilter> Stream<M> stream(F iFilter) throws DataFactoryException {
+        return stream(iFilter, streamFetchSize());
+    }
+
+    @Override
+    public <F extends IFilter> Stream<M> stream(F iFilter, int fetchSize) throws DataFactoryException {
+        if (fetchSize <= 0) {
+            throw new DataFactoryException("fetchSize must be positive");
+        }
+        return aroundStream(iFilter, fetchSize);
+    }
+
+    /**
+     * Permit giới hạn số lời gọi đồng thời xuống database, chỉ lấy quanh các lời gọi around* (load / ghi
+     * database); đọc trúng cache và chờ single flight không giữ permit. Stream không lấy permit vì connection
+     * được giữ đến khi caller đóng stream. Mặc định dùng chung {@link DataFactoryExecutor#sharedPermits()}.
+     *
+     * @return the db permits
+     */
+    protected DbPermits dbPermits() {
+        return DataFactoryExecutor.sharedPermits();
+    }
+
+    /**
+     * Stream fetch size mặc định.
+     *
+     * @return the int
+     */
+    protected int streamFetchSize() {
+        return DEFAULT_STREAM_FETCH_SIZE;
+    }
+
+    /**
+     * Gộp các lần load cùng cache key (single flight), tùy chọn dùng Redis lock để gộp giữa các instance.
+     *
+     * @param <T>         the type parameter
+     * @param cacheKey    the cache key
+     * @param cacheLookup đọc lại cache, trả về null nếu miss
+     * @param loader      the loader
+     * @return the value
+     * @throws CacheException       the cache exception
+     * @throws DataFactoryException the data factory exception
+     */
+    protected <T> T coalesce(String cacheKey,
+                             Supplier<T> cacheLookup,
+                             SingleFlight.Loader<T> loader) throws CacheException, DataFactoryException {
+        CacheConfigFactory<M> config = cacheFactory();
+        if (!config.singleFlight()) {
+            return loader.load();
+        }
+        return singleFlight.execute(cacheKey, () -> {
+            T cached = cacheLookup.get();
+            if (cached != null) {
+                return cached;
+            }
+            if (!config.singleFlightDistributed()) {
+                return loader.load();
+            }
+            return loadWithLock(cacheKey, cacheLookup, loader, config.singleFlightLockTtl());
+        });
+    }
+
+    private <T> T loadWithLock(String cacheKey,
+                               Supplier<T> cacheLookup,
+                               SingleFlight.Loader<T> loader,
+                               Duration lockTtl) throws CacheException, DataFactoryException {
+        String lockKey = cacheKey + getSpecial() + LOCK_SUFFIX;
+        String token = iCacheService.tryLock(lockKey, lockTtl);
+        if (token == null) {
+            long deadline = System.nanoTime() + lockTtl.toNanos();
+            while (System.nanoTime() < deadline) {
+                try {
+                    Thread.sleep(LOCK_POLL_INTERVAL_MS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new DataFactoryException("Interrupted while waiting for lock " + lockKey);
+                }
+                T cached = cacheLookup.get();
+                if (cached != null) {
+                    return cached;
+                }
+                if (!iCacheService.exists(lockKey)) {
+                    break;
+                }
+            }
+            log.warn("lock {} released without cached value, load from database", lockKey);
+            return loader.load();
+        }
+        try {
+            return loader.load();
+        } finally {
+            iCacheService.unlock(lockKey, token);
+        }
+    }
+
+    /**
+     * Refresh-ahead / stale-while-revalidate cho một giá trị đọc được từ cache.
+     * <ul>
+     *     <li>còn nhiều TTL: trả về giá trị cache</li>
+     *     <li>TTL còn lại dưới refreshAheadFactor: trả về giá trị cache và reload ở background</li>
+     *     <li>đã hết TTL logic (đang trong staleGracePeriod): load đồng bộ, lỗi thì trả về giá trị cũ</li>
+     * </ul>
+     *
+     * @param <T>      the type parameter
+     * @param cacheKey the cache key
+     * @param entry    the entry
+     * @param ttl      TTL logic của key
+     * @param loader   the loader
+     * @return the value
+     * @throws CacheException       the cache exception
+     * @throws DataFactoryException the data factory exception
+     */
+    protected <T> T refreshAhead(String cacheKey,
+                                 CacheEntry<T> entry,
+                                 Duration ttl,
+                                 SingleFlight.Loader<T> loader) throws CacheException, DataFactoryException {
+        Duration remaining = entry.remainingTtl();
+        if (remaining == null) {
+            return entry.value();
+        }
+        Duration logicalRemaining = remaining.minus(cacheFactory().staleGracePeriod());
+        if (logicalRemaining.isNegative() || logicalRemaining.isZero()) {
+            try {
+                return coalesce(cacheKey, () -> null, loader);
+            } catch (DataFactoryException e) {
+                if (isNotFound(e)) {
+                    evictNotFound(cacheKey);
+                    throw e;
+                }
+                log.warn("Reload exception, serve stale value for key: {}. Error: {}", cacheKey, e.getMessage());
+                return entry.value();
+            } catch (RuntimeException e) {
+                log.warn("Reload exception, serve stale value for key: {}. Error: {}", cacheKey, e.getMessage());
+                return entry.value();
+            }
+        }
+        if (logicalRemaining.toMillis() < ttl.toMillis() * cacheFactory().refreshAheadFactor()) {
+            refreshAsync(cacheKey, loader);
+        }
+        return entry.value();
+    }
+
+    private void refreshAsync(String cacheKey, SingleFlight.Loader<?> loader) {
+        if (!refreshing.add(cacheKey)) {
+            return;
+        }
+        try {
+            refreshExecutor().execute(() -> {
+                try {
+                    loader.load();
+                } catch (DataFactoryException e) {
+                    if (isNotFound(e)) {
+                        evictNotFound(cacheKey);
+                    } else {
+                        log.warn("Refresh ahead exception for key: {}. Error: {}", cacheKey, e.getMessage());
+                    }
+                } catch (Exception e) {
+                    log.warn("Refresh ahead exception for key: {}. Error: {}", cacheKey, e.getMessage());
+                } finally {
+                    refreshing.remove(cacheKey);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            refreshing.remove(cacheKey);
+            log.debug("Refresh ahead rejected for key: {}", cacheKey);
+        }
+    }
+
+    /**
+     * Executor chạy refresh-ahead, mặc định dùng chung {@link RefreshAheadExecutor#shared()}.
+     *
+     * @return the executor
+     */
+    protected Executor refreshExecutor() {
+        return RefreshAheadExecutor.shared();
+    }
+
+    /**
+     * Xóa giá trị cũ khi reload trả về notFound; tombstone ghi NX nên không đè được giá trị cũ,
+     * lần đọc sau miss rồi mới ghi tombstone.
+     */
+    private void evictNotFound(String cacheKey) {
+        iCacheService.delete(cacheKey);
+    }
+
+    private boolean isNotFound(DataFactoryException e) {
+        return Objects.equals(e.getIBaseErrorCode(), notFound());
+    }
+
+    /**
+     * Ghi key list và key của từng model trong cùng một pipeline.
+     *
+     * @param listKey key list, tạo bởi {@link #makeKeyCacheList(Class, IFilter)}
+     * @param models  the models
+     */
+    protected void cacheListAndModels(String listKey, List<M> models) {
+        CacheConfigFactory<M> config = cacheFactory();
+        if (cacheListIds()) {
+            cacheListModel(listKey, models, config.cacheListTtl());
+            return;
+        }
+        registerCache();
+        try (ICacheBatchWriter writer = iCacheService.batchWriter()) {
+            if (config.cacheListModel()) {
+                writer.put(listKey, models, storeTtl(config.cacheListTtl()));
+            }
+            if (config.cacheModel()) {
+                for (M model : models) {
+                    if (model != null && model.getId() != null) {
+                        writer.put(makeSingleKeyCache(model.getId(), config.getModelClass()), model, storeTtl(config.singleTtl()));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Cache list model; ở chế độ {@link CacheConfigFactory#cacheListIds()} ghi id thay cho bản copy model.
+     *
+     * @param listKey the list key
+     * @param value   the value
+     * @param ttl     the ttl
+     */
+    @Override
+    protected void cacheListModel(String listKey, List<M> value, Duration ttl) {
+        if (!cacheListIds()) {
+            super.cacheListModel(listKey, value, ttl);
+            return;
+        }
+        List<I> ids = new ArrayList<>(value.size());
+        List<M> models = new ArrayList<>(value.size());
+        for (M model : value) {
+            if (model == null || model.getId() == null) {
+                // không biểu diễn được bằng id, bỏ qua cache list này
+                log.debug("Skip caching list ids for key: {}, model without id", listKey);
+                return;
+            }
+            ids.add(model.getId());
+            models.add(model);
+        }
+        cacheListIds(listKey, ids, models, ttl);
+    }
+
     @Override
     public List<M> getList() throws CacheException, DataFactoryException {
         return getList(null);
@@ -190,6 +708,70 @@ public abstract class BaseDataFactory<
      */
     protected abstract M aroundGetModel(I id, IFilter filter) throws DataFactoryException;
 
+    /**
+     * Around get models, mặc định gọi {@link #aroundGetModel(Serializable, IFilter)} cho từng id
+     * và bỏ qua id không tồn tại.
+     *
+     * @param ids the ids
+     * @return the map id -> model
+     * @throws DataFactoryException the data factory exception
+     */
+    protected Map<I, M> aroundGetModels(Collection<I> ids) throws DataFactoryException {
+        Map<I, M> models = new LinkedHashMap<>();
+        for (I id : ids) {
+            try {
+                models.put(id, aroundGetModel(id, null));
+            } catch (DataFactoryException e) {
+                if (!isNotFound(e)) {
+                    throw e;
+                }
+            }
+        }
+        return models;
+    }
+
+    /**
+     * Around create all, mặc định gọi {@link #aroundCreate(IBaseModel)} cho từng model.
+     *
+     * @param models the models
+     * @return the list
+     */
+    protected List<M> aroundCreateAll(List<M> models) {
+        List<M> created = new ArrayList<>(models.size());
+        for (M model : models) {
+            created.add(aroundCreate(model));
+        }
+        return created;
+    }
+
+    /**
+     * Around update all, mặc định gọi {@link #aroundUpdate(IBaseModel, IFilter)} cho từng model.
+     *
+     * @param models the models
+     * @return the list
+     * @throws DataFactoryException the data factory exception
+     * @throws CacheException       the cache exception
+     */
+    protected List<M> aroundUpdateAll(List<M> models) throws DataFactoryException, CacheException {
+        List<M> updated = new ArrayList<>(models.size());
+        for (M model : models) {
+            updated.add(aroundUpdate(model, null));
+        }
+        return updated;
+    }
+
+    /**
+     * Around delete all, mặc định gọi {@link #aroundDelete(Serializable, IFilter)} cho từng id.
+     *
+     * @param ids the ids
+     * @throws DataFactoryException the data factory exception
+     */
+    protected void aroundDeleteAll(Collection<I> ids) throws DataFactoryException {
+        for (I id : ids) {
+            aroundDelete(id, null);
+        }
+    }
+
     /**
      * Around get list model m.
      *
@@ -199,6 +781,69 @@ public abstract class BaseDataFactory<
      */
     protected abstract List<M> aroundGetListModel(IFilter filter) throws CacheException, DataFactoryException;
 
+    /**
+     * Around get page, mặc định cắt từ {@link #aroundGetListModel(IFilter)};
+     * factory có bảng lớn nên override để query đúng một page.
+     * Trả về {@link Page} nếu đã có tổng, {@link Slice} nếu muốn tránh count (tổng lấy từ cache
+     * hoặc {@link #aroundCountList(IFilter)}).
+     *
+     * @param filter   the filter
+     * @param pageable the pageable
+     * @return the slice
+     * @throws CacheException       the cache exception
+     * @throws DataFactoryException the data factory exception
+     */
+    protected Slice<M> aroundGetPage(IFilter filter, Pageable pageable) throws CacheException, DataFactoryException {
+        List<M> models = aroundGetListModel(filter);
+        int from = (int) Math.min(pageable.getOffset(), models.size());
+        int to = Math.min(from + pageable.getPageSize(), models.size());
+        return new PageImpl<>(new ArrayList<>(models.subList(from, to)), pageable, models.size());
+    }
+
+    /**
+     * Around count list, mặc định đếm {@link #aroundGetListModel(IFilter)}.
+     *
+     * @param filter the filter
+     * @return the long
+     * @throws CacheException       the cache exception
+     * @throws DataFactoryException the data factory exception
+     */
+    protected long aroundCountList(IFilter filter) throws CacheException, DataFactoryException {
+        return aroundGetListModel(filter).size();
+    }
+
+    /**
+     * Around stream, mặc định stream trên {@link #aroundGetListModel(IFilter)} (đọc hết vào bộ nhớ);
+     * factory có bảng lớn nên override để đọc theo cursor.
+     *
+     * @param filter    the filter
+     * @param fetchSize the fetch size
+     * @return the stream
+     * @throws DataFactoryException the data factory exception
+     */
+    protected Stream<M> aroundStream(IFilter filter, int fetchSize) throws DataFactoryException {
+        try {
+            return aroundGetListModel(filter).stream();
+        } catch (CacheException e) {
+            throw new DataFactoryException(e.getDes());
+        }
+    }
+
+    /**
+     * Around get window (keyset pagination).
+     *
+     * @param filter   the filter
+     * @param position the position
+     * @param limit    the limit
+     * @return the window
+     * @throws CacheException       the cache exception
+     * @throws DataFactoryException the data factory exception
+     */
+    protected Window<M> aroundGetWindow(IFilter filter, ScrollPosition position, int limit)
+            throws CacheException, DataFactoryException {
+        throw new DataFactoryException("pls Override");
+    }
+
     /**
      * Not found base error code.
      *
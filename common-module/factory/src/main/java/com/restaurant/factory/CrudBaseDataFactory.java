@@ -1,22 +1,56 @@
 package com.restaurant.factory;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.restaurant.cache.exception.CacheException;
 import com.restaurant.cache.service.ICacheService;
 import com.restaurant.data.entity.IBaseEntity;
 import com.restaurant.data.model.IBaseModel;
 import com.restaurant.data.model.IFilter;
+import com.restaurant.data.model.IVersionedModel;
+import com.restaurant.factory.concurrent.DbPermits;
 import com.restaurant.factory.enums.FactoryResponseCode;
 import com.restaurant.factory.exception.DataFactoryException;
+import com.restaurant.factory.writebehind.WriteBehindBuffer;
+import com.restaurant.utils.MapperUtil;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.PagingAndSortingRepository;
 
+import java.io.IOException;
 import java.io.Serializable;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * The type Crud base data factory.
+ * <p>
+ * Thời gian load từ database được ghi vào {@link com.restaurant.cache.metrics.CacheMetrics#FACTORY_LOAD}.
+ * <p>
+ * Khi bật {@link com.restaurant.cache.factory.CacheConfigFactory#writeBehind()}, update (không filter) chỉ ghi
+ * cache và {@link WriteBehindBuffer}, database được ghi theo batch ở background; đọc model theo id
+ * ưu tiên bản đang chờ flush. Update phải có id trong database (đọc lần đầu id vào buffer), các field khác null
+ * được gộp vào bản đầy đủ đang chờ ({@link #mergeWriteBehind(IBaseModel, IBaseModel)}); cache và kết quả
+ * của update là bản đầy đủ đó.
  *
  * @param <I> the type parameter
  * @param <M> the type parameter
@@ -30,13 +64,19 @@ public abstract class CrudBaseDataFactory<
         M extends IBaseModel<I>,
         K extends Serializable, //id entity
         E extends IBaseEntity<K>,
-        R extends CrudRepository<E, K>> extends BaseDataFactory<I, M> {
+        R extends CrudRepository<E, K>> extends BaseDataFactory<I, M> implements InitializingBean, DisposableBean {
+
+    private static final String OUTCOME_SUCCESS = "success";
+    private static final String OUTCOME_NOT_FOUND = "not_found";
+    private static final String OUTCOME_ERROR = "error";
 
     /**
      * The Crud repository.
      */
     protected final R crudRepository;
 
+    private volatile WriteBehindBuffer<I, M> writeBehindBuffer;
+
     /**
      * Instantiates a new Base caching factory.
      *
@@ -48,12 +88,75 @@ public abstract class CrudBaseDataFactory<
         this.crudRepository = crudRepository;
     }
 
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        // replay journal write-behind còn lại từ lần chạy trước ngay khi khởi động
+        writeBehindBuffer();
+    }
+
+    @Override
+    public void destroy() {
+        WriteBehindBuffer<I, M> buffer = writeBehindBuffer;
+        if (buffer != null) {
+            buffer.close();
+        }
+    }
+
     @Override
     protected M aroundGetModel(I id, IFilter filter) throws DataFactoryException {
-        E entity = getEntity(id, filter).orElseThrow(() -> new DataFactoryException(notFound()));
-        M model = convertToModel(entity);
-        postGetModel(model, entity);
-        return model;
+        WriteBehindBuffer<I, M> buffer = writeBehindBuffer();
+        if (buffer != null && filter == null) {
+            M pending = buffer.get(id);
+            if (pending != null) {
+                return pending;
+            }
+        }
+        long start = System.nanoTime();
+        String outcome = OUTCOME_ERROR;
+        try {
+            Optional<E> found = getEntity(id, filter);
+            if (found.isEmpty()) {
+                outcome = OUTCOME_NOT_FOUND;
+                throw new DataFactoryException(notFound());
+            }
+            M model = convertToModel(found.get());
+            postGetModel(model, found.get());
+            outcome = OUTCOME_SUCCESS;
+            return model;
+        } finally {
+            cacheMetrics.load(modelTag(), "getModel", outcome, System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    protected Map<I, M> aroundGetModels(Collection<I> ids) throws DataFactoryException {
+        long start = System.nanoTime();
+        String outcome = OUTCOME_ERROR;
+        try {
+            List<K> entityIds = new ArrayList<>(ids.size());
+            for (I id : ids) {
+                entityIds.add(convertId(id));
+            }
+            Map<I, M> models = new LinkedHashMap<>();
+            for (E entity : crudRepository.findAllById(entityIds)) {
+                M model = convertToModel(entity);
+                postGetModel(model, entity);
+                models.put(model.getId(), model);
+            }
+            WriteBehindBuffer<I, M> buffer = writeBehindBuffer();
+            if (buffer != null) {
+                for (I id : ids) {
+                    M pending = buffer.get(id);
+                    if (pending != null) {
+                        models.put(id, pending);
+                    }
+                }
+            }
+            outcome = OUTCOME_SUCCESS;
+            return models;
+        } finally {
+            cacheMetrics.load(modelTag(), "getModels", outcome, System.nanoTime() - start);
+        }
     }
 
     @Override
@@ -66,6 +169,13 @@ public abstract class CrudBaseDataFactory<
 
     @Override
     protected M aroundUpdate(M model, IFilter filter) throws DataFactoryException, CacheException {
+        WriteBehindBuffer<I, M> buffer = writeBehindBuffer();
+        if (buffer != null && filter == null) {
+            M base = writeBehindBases(buffer, List.of(model.getId())).get(model.getId());
+            M merged = buffer.merge(model.getId(), base, model, this::mergeWriteBehind);
+            cachePutModel(model.getId(), merged);
+            return merged;
+        }
         E oldEntity = getEntity(model.getId(), filter).orElseThrow(() -> new DataFactoryException(notFound()));
         oldEntity = crudRepository.save(updateConvertToEntity(model, oldEntity));
         model = convertToModel(oldEntity);
@@ -73,21 +183,164 @@ public abstract class CrudBaseDataFactory<
         return model;
     }
 
+    @Override
+    protected List<M> aroundCreateAll(List<M> models) {
+        List<E> entities = new ArrayList<>(models.size());
+        for (M model : models) {
+            entities.add(createConvertToEntity(model));
+        }
+        List<E> saved = new ArrayList<>(entities.size());
+        crudRepository.saveAll(entities).forEach(saved::add);
+        List<M> created = new ArrayList<>(saved.size());
+        for (E entity : saved) {
+            created.add(convertToModel(entity));
+        }
+        postCreateAll(created, saved);
+        return created;
+    }
+
+    @Override
+    protected List<M> aroundUpdateAll(List<M> models) throws DataFactoryException, CacheException {
+        WriteBehindBuffer<I, M> buffer = writeBehindBuffer();
+        if (buffer != null) {
+            Map<I, M> bases = writeBehindBases(buffer, models.stream().map(IBaseModel::getId).toList());
+            Map<I, M> values = new LinkedHashMap<>();
+            List<M> merged = new ArrayList<>(models.size());
+            for (M model : models) {
+                M value = buffer.merge(model.getId(), bases.get(model.getId()), model, this::mergeWriteBehind);
+                values.put(model.getId(), value);
+                merged.add(value);
+            }
+            cachePutModels(values);
+            return merged;
+        }
+        Map<K, E> oldEntities = findAllByIds(models.stream().map(IBaseModel::getId).toList());
+        List<E> entities = new ArrayList<>(models.size());
+        for (M model : models) {
+            E oldEntity = oldEntities.get(convertId(model.getId()));
+            if (oldEntity == null) {
+                throw new DataFactoryException(notFound());
+            }
+            entities.add(updateConvertToEntity(model, oldEntity));
+        }
+        List<E> saved = new ArrayList<>(entities.size());
+        crudRepository.saveAll(entities).forEach(saved::add);
+        List<M> updated = new ArrayList<>(saved.size());
+        for (E entity : saved) {
+            updated.add(convertToModel(entity));
+        }
+        postUpdateAll(updated, saved);
+        return updated;
+    }
+
+    @Override
+    protected void aroundDeleteAll(Collection<I> ids) throws DataFactoryException {
+        Map<K, E> entities = findAllByIds(ids);
+        if (entities.size() < ids.size()) {
+            throw new DataFactoryException(notFound());
+        }
+        deleteEntities(entities);
+        // chỉ bỏ update write-behind đang chờ sau khi đã xóa, lỗi ở trên không làm mất update của id hợp lệ
+        WriteBehindBuffer<I, M> buffer = writeBehindBuffer();
+        if (buffer != null) {
+            ids.forEach(buffer::discard);
+        }
+        postDeleteAll(new ArrayList<>(entities.values()));
+    }
+
+    /**
+     * Xóa các entity đã load của {@link #aroundDeleteAll(Collection)}, mặc định
+     * {@link CrudRepository#deleteAll(Iterable)} (một câu DELETE cho mỗi entity).
+     *
+     * @param entities entity theo id
+     */
+    protected void deleteEntities(Map<K, E> entities) {
+        crudRepository.deleteAll(entities.values());
+    }
+
+    private Map<K, E> findAllByIds(Collection<I> ids) throws DataFactoryException {
+        List<K> entityIds = new ArrayList<>(ids.size());
+        for (I id : ids) {
+            entityIds.add(convertId(id));
+        }
+        Map<K, E> entities = new LinkedHashMap<>();
+        for (E entity : crudRepository.findAllById(entityIds)) {
+            entities.put(entity.getId(), entity);
+        }
+        return entities;
+    }
+
     @Override
     protected void aroundDelete(I id, IFilter filter) throws DataFactoryException {
         E entity = getEntity(id, filter).orElseThrow(() -> new DataFactoryException(notFound()));
         crudRepository.delete(entity);
+        WriteBehindBuffer<I, M> buffer = writeBehindBuffer();
+        if (buffer != null && id != null) {
+            buffer.discard(id);
+        }
         postDelete(entity);
     }
 
     @Override
     protected List<M> aroundGetListModel(IFilter filter) throws CacheException, DataFactoryException {
-        Iterable<E> entities = getListEntity(filter);
-        List<M> models = new ArrayList<>();
-        for (E entity : entities) {
-            models.add(convertToModel(entity));
+        long start = System.nanoTime();
+        String outcome = OUTCOME_ERROR;
+        try {
+            Iterable<E> entities = getListEntity(filter);
+            List<M> models = new ArrayList<>();
+            for (E entity : entities) {
+                models.add(convertToModel(entity));
+            }
+            outcome = OUTCOME_SUCCESS;
+            return models;
+        } finally {
+            cacheMetrics.load(modelTag(), "getList", outcome, System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    protected Slice<M> aroundGetPage(IFilter filter, Pageable pageable) throws CacheException, DataFactoryException {
+        long start = System.nanoTime();
+        String outcome = OUTCOME_ERROR;
+        try {
+            Slice<M> models = getPageEntity(filter, pageable).map(this::convertToModel);
+            outcome = OUTCOME_SUCCESS;
+            return models;
+        } finally {
+            cacheMetrics.load(modelTag(), "getPage", outcome, System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    protected long aroundCountList(IFilter filter) throws DataFactoryException {
+        long start = System.nanoTime();
+        String outcome = OUTCOME_ERROR;
+        try {
+            long total = countEntity(filter);
+            outcome = OUTCOME_SUCCESS;
+            return total;
+        } finally {
+            cacheMetrics.load(modelTag(), "count", outcome, System.nanoTime() - start);
         }
-        return models;
+    }
+
+    @Override
+    protected Window<M> aroundGetWindow(IFilter filter, ScrollPosition position, int limit)
+            throws DataFactoryException {
+        long start = System.nanoTime();
+        String outcome = OUTCOME_ERROR;
+        try {
+            Window<M> models = getWindowEntity(filter, position, limit).map(this::convertToModel);
+            outcome = OUTCOME_SUCCESS;
+            return models;
+        } finally {
+            cacheMetrics.load(modelTag(), "getWindow", outcome, System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    protected Stream<M> aroundStream(IFilter filter, int fetchSize) throws DataFactoryException {
+        return streamEntity(filter, fetchSize).map(this::convertToModel);
     }
 
     /**
@@ -133,6 +386,47 @@ public abstract class CrudBaseDataFactory<
         clearCacheModelByKey(entity.getId());
     }
 
+    /**
+     * Post create all, mặc định gọi {@link #postCreate(IBaseModel, IBaseEntity)} cho từng model;
+     * override khi có cách xử lý theo batch.
+     *
+     * @param models   the models
+     * @param entities the entities
+     */
+    protected void postCreateAll(List<M> models, List<E> entities) {
+        for (int i = 0; i < models.size(); i++) {
+            postCreate(models.get(i), entities.get(i));
+        }
+    }
+
+    /**
+     * Post update all: ghi lại cache của các model trong một pipeline.
+     *
+     * @param models   the models
+     * @param entities the entities
+     * @throws CacheException the cache exception
+     */
+    protected void postUpdateAll(List<M> models, List<E> entities) throws CacheException {
+        Map<K, M> values = new LinkedHashMap<>();
+        for (int i = 0; i < entities.size(); i++) {
+            values.put(entities.get(i).getId(), models.get(i));
+        }
+        cachePutModels(values);
+    }
+
+    /**
+     * Post delete all: xóa cache của các model bằng một lệnh UNLINK.
+     *
+     * @param entities the entities
+     */
+    protected void postDeleteAll(List<E> entities) {
+        List<K> ids = new ArrayList<>(entities.size());
+        for (E entity : entities) {
+            ids.add(entity.getId());
+        }
+        clearCacheModelByKeys(ids);
+    }
+
     /**
      * Post get model.
      *
@@ -143,7 +437,8 @@ public abstract class CrudBaseDataFactory<
     }
 
     /**
-     * Post update.
+     * Post update. Model có version được ghi đè bằng compare-and-set, không xóa key trước
+     * (tránh khoảng trống để một lần đọc database cũ ghi lại bản cũ).
      *
      * @param model  the model
      * @param entity the entity
@@ -151,7 +446,9 @@ public abstract class CrudBaseDataFactory<
      */
     protected void postUpdate(M model, E entity) throws CacheException {
         try {
-            clearCacheModelByKey(entity.getId());
+            if (!(model instanceof IVersionedModel<?> versioned) || versioned.getVersion() == null) {
+                clearCacheModelByKey(entity.getId());
+            }
             cachePutModel(entity.getId(), model);
         } catch (CacheException ex) {
             log.error("postUpdate is ex: ", ex);
@@ -176,7 +473,9 @@ public abstract class CrudBaseDataFactory<
     }
 
     /**
-     * Gets list entity.
+     * Gets list entity, mặc định load cả bảng (không áp dụng filter). Repository có
+     * {@code JpaSpecificationExecutor} thì dùng {@link JpaCrudBaseDataFactory} để filter, sort và limit chạy
+     * trong database.
      *
      * @param <F>    the type parameter
      * @param filter the filter
@@ -187,19 +486,232 @@ public abstract class CrudBaseDataFactory<
         return crudRepository.findAll();
     }
 
+    /**
+     * Gets page entity. Giống {@link #getListEntity(IFilter)}, mặc định không áp dụng filter và cần
+     * {@link PagingAndSortingRepository}; override để query theo filter, trả về {@link Slice} để bỏ qua câu count.
+     *
+     * @param <F>      the type parameter
+     * @param filter   the filter
+     * @param pageable the pageable
+     * @return the page entity
+     * @throws DataFactoryException the data factory exception
+     */
+    @SuppressWarnings("unchecked")
+    protected <F extends IFilter> Slice<E> getPageEntity(F filter, Pageable pageable) throws DataFactoryException {
+        if (crudRepository instanceof PagingAndSortingRepository<?, ?> pagingRepository) {
+            return ((PagingAndSortingRepository<E, K>) pagingRepository).findAll(pageable);
+        }
+        throw new DataFactoryException("pls Override");
+    }
+
+    /**
+     * Count entity theo filter, mặc định giống {@link #getListEntity(IFilter)} (không áp dụng filter).
+     *
+     * @param <F>    the type parameter
+     * @param filter the filter
+     * @return the long
+     * @throws DataFactoryException the data factory exception
+     */
+    protected <F extends IFilter> long countEntity(F filter) throws DataFactoryException {
+        return crudRepository.count();
+    }
+
+    /**
+     * Gets window entity (keyset pagination), override bằng query method của repository
+     * trả về {@link Window}, ví dụ {@code Window<E> findFirst20ByStatusOrderByIdAsc(String status, ScrollPosition position)}.
+     *
+     * @param <F>      the type parameter
+     * @param filter   the filter
+     * @param position the position
+     * @param limit    the limit
+     * @return the window entity
+     * @throws DataFactoryException the data factory exception
+     */
+    protected <F extends IFilter> Window<E> getWindowEntity(F filter, ScrollPosition position, int limit)
+            throws DataFactoryException {
+        throw new DataFactoryException("pls Override");
+    }
+
+    /**
+     * Stream entity theo filter. Mặc định đọc lần lượt từng window {@code fetchSize} bản ghi theo keyset
+     * qua {@link #getWindowEntity(IFilter, ScrollPosition, int)} (window sau bắt đầu từ key của bản ghi cuối,
+     * không dùng OFFSET nên mỗi lần đọc không phải bỏ qua các bản ghi đã đọc), chỉ giữ một window trong bộ nhớ.
+     * Factory chưa override {@link #getWindowEntity(IFilter, ScrollPosition, int)} thì phải override hàm này,
+     * ví dụ bằng query method trả về {@code Stream<E>} của repository (cursor thật,
+     * kèm {@code @QueryHints(HINT_FETCH_SIZE)} và chạy trong transaction read-only).
+     *
+     * @param <F>       the type parameter
+     * @param filter    the filter
+     * @param fetchSize the fetch size
+     * @return the stream
+     * @throws DataFactoryException the data factory exception
+     */
+    protected <F extends IFilter> Stream<E> streamEntity(F filter, int fetchSize) throws DataFactoryException {
+        Window<E> first = getWindowEntity(filter, ScrollPosition.keyset(), fetchSize);
+        Iterator<E> iterator = new WindowIterator<>(filter, fetchSize, first);
+        return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL),
+                false
+        );
+    }
+
+    /**
+     * Thứ tự ổn định khi stream / đọc window, mặc định theo id.
+     *
+     * @return the sort
+     */
+    protected Sort streamSort() {
+        return Sort.by("id");
+    }
+
+    /**
+     * Write behind buffer, tạo (và replay journal) ở lần gọi đầu tiên.
+     *
+     * @return the buffer, null nếu model không bật write-behind
+     * @throws DataFactoryException nếu không mở được journal
+     */
+    protected WriteBehindBuffer<I, M> writeBehindBuffer() throws DataFactoryException {
+        if (!cacheFactory().writeBehind()) {
+            return null;
+        }
+        WriteBehindBuffer<I, M> buffer = writeBehindBuffer;
+        if (buffer != null) {
+            return buffer;
+        }
+        synchronized (this) {
+            if (writeBehindBuffer == null) {
+                WriteBehindBuffer<I, M> created = null;
+                try {
+                    created = new WriteBehindBuffer<>(
+                            modelTag(),
+                            cacheFactory().getModelClass(),
+                            writeBehindJournalDir(),
+                            cacheFactory().writeBehindFlushInterval(),
+                            cacheFactory().writeBehindBatchSize(),
+                            this::flushWriteBehind
+                    );
+                    created.start();
+                    writeBehindBuffer = created;
+                } catch (IOException e) {
+                    if (created != null) {
+                        created.close();
+                    }
+                    log.error("Can not open write behind journal for {}", modelTag(), e);
+                    throw new DataFactoryException("Can not open write behind journal");
+                }
+            }
+            return writeBehindBuffer;
+        }
+    }
+
+    /**
+     * Thư mục journal write-behind của model, bắt buộc override khi bật write-behind: đường dẫn tuyệt đối,
+     * riêng cho từng instance (vd. theo tên pod) và nằm trên volume được giữ lại khi restart.
+     *
+     * @return the path
+     * @throws DataFactoryException the data factory exception
+     */
+    protected Path writeBehindJournalDir() throws DataFactoryException {
+        throw new DataFactoryException("pls Override");
+    }
+
+    /**
+     * Gộp một update từng phần vào bản đầy đủ đang chờ flush: field khác null của {@code changes} thay field
+     * tương ứng của {@code pending}, giống cách {@link #updateConvertToEntity(IBaseModel, IBaseEntity)} bỏ qua
+     * field null. Override nếu update của model có quy ước khác.
+     *
+     * @param pending bản đầy đủ đang chờ, không bị sửa
+     * @param changes the changes
+     * @return bản đầy đủ mới
+     */
+    protected M mergeWriteBehind(M pending, M changes) {
+        ObjectNode merged = MapperUtil.mapper.valueToTree(pending);
+        ObjectNode updates = MapperUtil.mapper.valueToTree(changes);
+        for (Map.Entry<String, JsonNode> field : updates.properties()) {
+            if (!field.getValue().isNull()) {
+                merged.set(field.getKey(), field.getValue());
+            }
+        }
+        try {
+            return MapperUtil.mapper.treeToValue(merged, cacheFactory().getModelClass());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Can not merge write behind update of " + modelTag(), e);
+        }
+    }
+
+    /**
+     * Bản đầy đủ của các id trước khi gộp update: bản đang chờ trong buffer, id chưa có thì đọc database.
+     *
+     * @param buffer the buffer
+     * @param ids    the ids
+     * @return the map id -> model
+     * @throws DataFactoryException nếu có id không tồn tại, không update nào được nhận
+     */
+    private Map<I, M> writeBehindBases(WriteBehindBuffer<I, M> buffer, Collection<I> ids) throws DataFactoryException {
+        Map<I, M> bases = new LinkedHashMap<>();
+        List<I> missing = new ArrayList<>();
+        for (I id : ids) {
+            M pending = buffer.get(id);
+            if (pending != null) {
+                bases.put(id, pending);
+            } else {
+                missing.add(id);
+            }
+        }
+        if (missing.isEmpty()) {
+            return bases;
+        }
+        Map<K, E> entities = findAllByIds(missing);
+        for (I id : missing) {
+            E entity = entities.get(convertId(id));
+            if (entity == null) {
+                throw new DataFactoryException(notFound());
+            }
+            bases.put(id, convertToModel(entity));
+        }
+        return bases;
+    }
+
+    /**
+     * Ghi một batch update write-behind xuống database (không đụng cache). Id đã bị xóa sau khi update
+     * được nhận thì bỏ qua.
+     *
+     * @param models the models
+     * @throws DataFactoryException the data factory exception
+     */
+    protected void flushWriteBehind(List<M> models) throws DataFactoryException {
+        Map<K, E> oldEntities = findAllByIds(models.stream().map(IBaseModel::getId).toList());
+        List<E> entities = new ArrayList<>(models.size());
+        for (M model : models) {
+            E oldEntity = oldEntities.get(convertId(model.getId()));
+            if (oldEntity == null) {
+                log.warn("Write behind skip {} id {}: not found", modelTag(), model.getId());
+                continue;
+            }
+            entities.add(updateConvertToEntity(model, oldEntity));
+        }
+        crudRepository.saveAll(entities);
+    }
+
     @Override
     public Long count() {
-        return crudRepository.count();
+        try (DbPermits.Permit permit = dbPermits().acquire()) {
+            return crudRepository.count();
+        }
     }
 
     @Override
     public boolean exist(I id) throws DataFactoryException {
-        return exists(id, null);
+        try (DbPermits.Permit permit = dbPermits().acquire()) {
+            return exists(id, null);
+        }
     }
 
     @Override
     public <F extends IFilter> boolean exist(F filter) throws DataFactoryException {
-        return exists(null, filter);
+        try (DbPermits.Permit permit = dbPermits().acquire()) {
+            return exists(null, filter);
+        }
     }
 
 
@@ -235,4 +747,44 @@ public abstract class CrudBaseDataFactory<
         }
     }
 
+    /**
+     * Đọc lazy từng window, window tiếp theo chỉ được query khi window hiện tại đã duyệt hết.
+     */
+    private final class WindowIterator<F extends IFilter> implements Iterator<E> {
+        private final F filter;
+        private final int fetchSize;
+        private Window<E> window;
+        private Iterator<E> current;
+
+        private WindowIterator(F filter, int fetchSize, Window<E> first) {
+            this.filter = filter;
+            this.fetchSize = fetchSize;
+            this.window = first;
+            this.current = first.iterator();
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!current.hasNext()) {
+                if (window.isEmpty() || !window.hasNext()) {
+                    return false;
+                }
+                try {
+                    window = getWindowEntity(filter, window.positionAt(window.size() - 1), fetchSize);
+                } catch (DataFactoryException e) {
+                    throw new IllegalStateException(e.getMessage(), e);
+                }
+                current = window.iterator();
+            }
+            return true;
+        }
+
+        @Override
+        public E next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return current.next();
+        }
+    }
 }
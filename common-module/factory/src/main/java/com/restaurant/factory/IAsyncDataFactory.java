@@ -0,0 +1,124 @@
+package com.restaurant.factory;
+
+import com.restaurant.data.model.IBaseModel;
+import com.restaurant.data.model.IFilter;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * The interface Async data factory.
+ * <p>
+ * Bản bất đồng bộ của {@link IDataFactory}: future hoàn thành với cùng kết quả, hoặc hoàn thành lỗi với
+ * {@link java.util.concurrent.CompletionException} bọc {@link com.restaurant.factory.exception.DataFactoryException}
+ * / {@link com.restaurant.cache.exception.CacheException}.
+ *
+ * @param <I> the type parameter
+ * @param <M> the type parameter
+ */
+public interface IAsyncDataFactory<I extends Serializable, M extends IBaseModel<I>> {
+
+    /**
+     * Count.
+     *
+     * @return the completable future
+     */
+    CompletableFuture<Long> count();
+
+    /**
+     * Exist.
+     *
+     * @param id the id
+     * @return the completable future
+     */
+    CompletableFuture<Boolean> exist(I id);
+
+    /**
+     * Create.
+     *
+     * @param model the model
+     * @return the completable future
+     */
+    CompletableFuture<M> create(M model);
+
+    /**
+     * Create all.
+     *
+     * @param models the models
+     * @return the completable future
+     */
+    CompletableFuture<List<M>> createAll(Collection<M> models);
+
+    /**
+     * Delete.
+     *
+     * @param id the id
+     * @return the completable future
+     */
+    CompletableFuture<Void> delete(I id);
+
+    /**
+     * Gets model.
+     *
+     * @param id the id
+     * @return the model
+     */
+    CompletableFuture<M> getModel(I id);
+
+    /**
+     * Gets model.
+     *
+     * @param <F>    the type parameter
+     * @param id     the id
+     * @param filter the filter
+     * @return the model
+     */
+    <F extends IFilter> CompletableFuture<M> getModel(I id, F filter);
+
+    /**
+     * Gets models.
+     *
+     * @param ids the ids
+     * @return the models
+     */
+    CompletableFuture<Map<I, M>> getModels(Collection<I> ids);
+
+    /**
+     * Update.
+     *
+     * @param model the model
+     * @return the completable future
+     */
+    CompletableFuture<M> update(M model);
+
+    /**
+     * Gets list.
+     *
+     * @param <F>     the type parameter
+     * @param iFilter the filter
+     * @return the list
+     */
+    <F extends IFilter> CompletableFuture<List<M>> getList(F iFilter);
+
+    /**
+     * Gets list.
+     *
+     * @return the list
+     */
+    CompletableFuture<List<M>> getList();
+
+    /**
+     * Gets page.
+     *
+     * @param <F>      the type parameter
+     * @param iFilter  the filter
+     * @param pageable the pageable
+     * @return the page
+     */
+    <F extends IFilter> CompletableFuture<Page<M>> getPage(F iFilter, Pageable pageable);
+}
@@ -5,8 +5,16 @@ import com.restaurant.factory.exception.DataFactoryException;
 import com.restaurant.data.model.IBaseModel;
 import com.restaurant.data.model.IFilter;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+
 import java.io.Serializable;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 /**
  * The interface Data factory.
@@ -50,6 +58,33 @@ public interface IDataFactory<I extends Serializable, M extends IBaseModel<I>> {
      */
     M create(M model);
 
+    /**
+     * Create all trong một batch.
+     *
+     * @param models the models
+     * @return the list model đã tạo, cùng thứ tự
+     */
+    List<M> createAll(Collection<M> models);
+
+    /**
+     * Update all trong một batch: một lần đọc các entity cũ, một lần saveAll và một pipeline ghi cache.
+     *
+     * @param models the models
+     * @return the list model đã cập nhật, cùng thứ tự
+     * @throws CacheException       the cache exception
+     * @throws DataFactoryException notFound nếu có id không tồn tại, hoặc preUpdate trả về filter cho một model;
+     *                              khi đó không bản ghi nào được ghi
+     */
+    List<M> updateAll(Collection<M> models) throws CacheException, DataFactoryException;
+
+    /**
+     * Delete all trong một batch.
+     *
+     * @param ids the ids
+     * @throws DataFactoryException notFound nếu có id không tồn tại, khi đó không bản ghi nào bị xóa
+     */
+    void deleteAll(Collection<I> ids) throws DataFactoryException;
+
     /**
      * Delete.
      *
@@ -101,6 +136,16 @@ public interface IDataFactory<I extends Serializable, M extends IBaseModel<I>> {
      */
     <F extends IFilter> M getModel(F filter) throws CacheException, DataFactoryException;
 
+    /**
+     * Gets models by ids.
+     *
+     * @param ids the ids
+     * @return the map id -> model theo thứ tự của ids, id không tồn tại sẽ bị bỏ qua
+     * @throws CacheException       the cache exception
+     * @throws DataFactoryException the data factory exception
+     */
+    Map<I, M> getModels(Collection<I> ids) throws CacheException, DataFactoryException;
+
     /**
      * Update m.
      *
@@ -143,4 +188,52 @@ public interface IDataFactory<I extends Serializable, M extends IBaseModel<I>> {
      */
     List<M> getList() throws CacheException, DataFactoryException;
 
+    /**
+     * Gets page, mỗi page được cache riêng, tổng số bản ghi cache dùng chung cho mọi page.
+     *
+     * @param <F>      the type parameter
+     * @param iFilter  the filter
+     * @param pageable the pageable
+     * @return the page
+     * @throws CacheException       the cache exception
+     * @throws DataFactoryException the data factory exception
+     */
+    <F extends IFilter> Page<M> getPage(F iFilter, Pageable pageable) throws CacheException, DataFactoryException;
+
+    /**
+     * Gets window theo keyset (seek) pagination, không đếm tổng và không cache.
+     *
+     * @param <F>      the type parameter
+     * @param iFilter  the filter
+     * @param position vị trí bắt đầu, {@link ScrollPosition#keyset()} cho window đầu tiên
+     * @param limit    số bản ghi tối đa
+     * @return the window
+     * @throws CacheException       the cache exception
+     * @throws DataFactoryException the data factory exception
+     */
+    <F extends IFilter> Window<M> getWindow(F iFilter, ScrollPosition position, int limit)
+            throws CacheException, DataFactoryException;
+
+    /**
+     * Stream toàn bộ model theo filter, đọc từ database theo từng lô và convert lazy, không qua cache.
+     * Stream giữ tài nguyên của database nên phải đóng sau khi dùng (try-with-resources).
+     *
+     * @param <F>     the type parameter
+     * @param iFilter the filter
+     * @return the stream
+     * @throws DataFactoryException the data factory exception
+     */
+    <F extends IFilter> Stream<M> stream(F iFilter) throws DataFactoryException;
+
+    /**
+     * Stream toàn bộ model theo filter với fetch size cho trước.
+     *
+     * @param <F>       the type parameter
+     * @param iFilter   the filter
+     * @param fetchSize số bản ghi đọc mỗi lô
+     * @return the stream
+     * @throws DataFactoryException the data factory exception
+     */
+    <F extends IFilter> Stream<M> stream(F iFilter, int fetchSize) throws DataFactoryException;
+
 }
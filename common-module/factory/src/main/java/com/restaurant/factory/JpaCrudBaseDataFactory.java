@@ -0,0 +1,234 @@
+package com.restaurant.factory;
+
+import com.restaurant.cache.service.ICacheService;
+import com.restaurant.data.entity.IBaseEntity;
+import com.restaurant.data.model.IBaseModel;
+import com.restaurant.data.model.IFilter;
+import com.restaurant.factory.exception.DataFactoryException;
+import com.restaurant.factory.query.FilterQuery;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.core.GenericTypeResolver;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.repository.CrudRepository;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * The type Jpa crud base data factory.
+ * <p>
+ * Filter có field đánh dấu {@link com.restaurant.factory.query.FilterField} được dịch thành
+ * {@link Specification} qua {@link FilterQuery}: điều kiện, ORDER BY
+ * ({@link com.restaurant.factory.query.FilterSort}) và LIMIT ({@link com.restaurant.factory.query.FilterLimit})
+ * đều chạy trong database. Filter không có field đánh dấu giữ hành vi của {@link CrudBaseDataFactory}.
+ * <p>
+ * Khai báo các class filter trong {@link #filterClasses()} để được kiểm tra index lúc khởi động
+ * ({@link com.restaurant.factory.query.FilterIndexVerifier}).
+ *
+ * @param <I> the type parameter
+ * @param <M> the type parameter
+ * @param <K> the type parameter
+ * @param <E> the type parameter
+ * @param <R> the type parameter
+ */
+public abstract class JpaCrudBaseDataFactory<
+        I extends Serializable, //id model
+        M extends IBaseModel<I>,
+        K extends Serializable, //id entity
+        E extends IBaseEntity<K>,
+        R extends CrudRepository<E, K> & JpaSpecificationExecutor<E>> extends CrudBaseDataFactory<I, M, K, E, R> {
+
+    private static final String ID_ATTRIBUTE = "id";
+    private static final String HINT_FETCH_SIZE = "org.hibernate.fetchSize";
+
+    private volatile Class<E> entityClass;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Instantiates a new Jpa crud base data factory.
+     *
+     * @param iCacheService  the cache service
+     * @param crudRepository the crud repository
+     */
+    protected JpaCrudBaseDataFactory(ICacheService iCacheService, R crudRepository) {
+        super(iCacheService, crudRepository);
+    }
+
+    /**
+     * Các class filter của factory, được kiểm tra index lúc khởi động.
+     *
+     * @return the collection
+     */
+    public Collection<Class<? extends IFilter>> filterClasses() {
+        return List.of();
+    }
+
+    /**
+     * Entity class, mặc định lấy từ tham số kiểu của class con.
+     *
+     * @return the entity class
+     */
+    @SuppressWarnings("unchecked")
+    public Class<E> entityClass() {
+        Class<E> type = entityClass;
+        if (type == null) {
+            Class<?>[] arguments = GenericTypeResolver.resolveTypeArguments(getClass(), JpaCrudBaseDataFactory.class);
+            if (arguments == null || arguments[3] == null) {
+                throw new IllegalStateException("pls Override entityClass() in " + getClass().getName());
+            }
+            type = (Class<E>) arguments[3];
+            entityClass = type;
+        }
+        return type;
+    }
+
+    @Override
+    protected <F extends IFilter> Optional<E> getEntity(I id, F filter) throws DataFactoryException {
+        FilterQuery query = FilterQuery.of(filter);
+        if (!query.isDeclarative()) {
+            return super.getEntity(id, filter);
+        }
+        Specification<E> specification = query.specification(filter);
+        if (id != null) {
+            K entityId = convertId(id);
+            specification = specification.and((root, criteria, cb) -> cb.equal(root.get(ID_ATTRIBUTE), entityId));
+        }
+        Sort sort = query.sort(filter);
+        return crudRepository.findBy(specification, fluent -> fluent.sortBy(sort).first());
+    }
+
+    @Override
+    protected <F extends IFilter> Iterable<E> getListEntity(F filter) throws DataFactoryException {
+        FilterQuery query = FilterQuery.of(filter);
+        if (!query.isDeclarative()) {
+            return super.getListEntity(filter);
+        }
+        Sort sort = query.sort(filter);
+        int limit = query.limit(filter);
+        Specification<E> specification = query.specification(filter);
+        if (limit > 0) {
+            return crudRepository.findBy(specification, fluent -> fluent.sortBy(sort).limit(limit).all());
+        }
+        return crudRepository.findAll(specification, sort);
+    }
+
+    /**
+     * Gets page entity, trả về {@link Slice} (không chạy câu count). Pageable không có sort thì dùng sort của filter.
+     */
+    @Override
+    protected <F extends IFilter> Slice<E> getPageEntity(F filter, Pageable pageable) throws DataFactoryException {
+        FilterQuery query = FilterQuery.of(filter);
+        if (!query.isDeclarative()) {
+            return super.getPageEntity(filter, pageable);
+        }
+        Sort sort = pageable.getSort().isSorted() ? Sort.unsorted() : query.sort(filter);
+        return crudRepository.findBy(query.specification(filter), fluent -> fluent.sortBy(sort).slice(pageable));
+    }
+
+    @Override
+    protected <F extends IFilter> long countEntity(F filter) throws DataFactoryException {
+        FilterQuery query = FilterQuery.of(filter);
+        if (!query.isDeclarative()) {
+            return super.countEntity(filter);
+        }
+        return crudRepository.count(query.specification(filter));
+    }
+
+    /**
+     * Gets window entity (keyset pagination), sort theo filter, không có thì theo {@link #streamSort()}.
+     * Filter null đọc toàn bộ bảng.
+     */
+    @Override
+    protected <F extends IFilter> Window<E> getWindowEntity(F filter, ScrollPosition position, int limit)
+            throws DataFactoryException {
+        FilterQuery query = FilterQuery.of(filter);
+        if (filter != null && !query.isDeclarative()) {
+            return super.getWindowEntity(filter, position, limit);
+        }
+        Sort sort = streamSort(query, filter);
+        return crudRepository.findBy(query.specification(filter),
+                fluent -> fluent.sortBy(sort).limit(limit).scroll(position));
+    }
+
+    /**
+     * Stream entity bằng một câu query đọc theo cursor, driver lấy {@code fetchSize} bản ghi mỗi lần
+     * (hint {@code org.hibernate.fetchSize}); sort theo filter, không có thì theo {@link #streamSort()}.
+     * Filter null đọc toàn bộ bảng.
+     * <p>
+     * Connection được giữ đến khi stream bị đóng: caller phải đóng stream (try-with-resources) và đọc trong
+     * transaction read-only, ngoài transaction PostgreSQL bỏ qua fetch size và đọc hết kết quả vào bộ nhớ.
+     */
+    @Override
+    protected <F extends IFilter> Stream<E> streamEntity(F filter, int fetchSize) throws DataFactoryException {
+        FilterQuery query = FilterQuery.of(filter);
+        if (filter != null && !query.isDeclarative()) {
+            return super.streamEntity(filter, fetchSize);
+        }
+        Sort sort = streamSort(query, filter);
+        Specification<E> specification = query.specification(filter);
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<E> criteria = cb.createQuery(entityClass());
+        Root<E> root = criteria.from(entityClass());
+        Predicate predicate = specification.toPredicate(root, criteria, cb);
+        if (predicate != null) {
+            criteria.where(predicate);
+        }
+        criteria.select(root).orderBy(QueryUtils.toOrders(sort, root, cb));
+        return entityManager.createQuery(criteria)
+                .setHint(HINT_FETCH_SIZE, fetchSize)
+                .getResultStream();
+    }
+
+    private Sort streamSort(FilterQuery query, IFilter filter) {
+        Sort filterSort = query.sort(filter);
+        return filterSort.isSorted() ? filterSort : streamSort();
+    }
+
+    /**
+     * Xóa theo batch bằng một câu {@code DELETE ... WHERE id IN (...)} khi repository là {@link JpaRepository}.
+     * Câu DELETE không qua persistence context (không cascade, không chạy callback {@code @PreRemove});
+     * factory cần các hành vi đó override lại để dùng {@link CrudRepository#deleteAll(Iterable)}.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void deleteEntities(Map<K, E> entities) {
+        if (crudRepository instanceof JpaRepository<?, ?> jpaRepository) {
+            ((JpaRepository<E, K>) jpaRepository).deleteAllByIdInBatch(entities.keySet());
+            return;
+        }
+        super.deleteEntities(entities);
+    }
+
+    @Override
+    protected <F extends IFilter> boolean exists(I id, F filter) throws DataFactoryException {
+        FilterQuery query = FilterQuery.of(filter);
+        if (!query.isDeclarative()) {
+            return super.exists(id, filter);
+        }
+        Specification<E> specification = query.specification(filter);
+        if (id != null) {
+            K entityId = convertId(id);
+            specification = specification.and((root, criteria, cb) -> cb.equal(root.get(ID_ATTRIBUTE), entityId));
+        }
+        return crudRepository.exists(specification);
+    }
+}
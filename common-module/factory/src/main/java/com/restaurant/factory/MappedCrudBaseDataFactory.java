@@ -0,0 +1,64 @@
+package com.restaurant.factory;
+
+import com.restaurant.cache.service.ICacheService;
+import com.restaurant.data.entity.IBaseEntity;
+import com.restaurant.data.mapper.IEntityMapper;
+import com.restaurant.data.model.IBaseModel;
+import org.springframework.data.repository.CrudRepository;
+
+import java.io.Serializable;
+
+/**
+ * The type Mapped crud base data factory.
+ * <p>
+ * {@link CrudBaseDataFactory} có ba hàm convert lấy từ {@link #entityMapper()}, thường là mapper sinh bởi
+ * {@code common-module:mapper-processor} ({@code EntityMappers.get(XxxMapper.class)}): code copy field trực tiếp
+ * thay cho convert viết tay. Update dùng {@link IEntityMapper#merge(Object, Object)}, property null của model
+ * được bỏ qua.
+ *
+ * @param <I> the type parameter
+ * @param <M> the type parameter
+ * @param <K> the type parameter
+ * @param <E> the type parameter
+ * @param <R> the type parameter
+ */
+public abstract class MappedCrudBaseDataFactory<
+        I extends Serializable, //id model
+        M extends IBaseModel<I>,
+        K extends Serializable, //id entity
+        E extends IBaseEntity<K>,
+        R extends CrudRepository<E, K>> extends CrudBaseDataFactory<I, M, K, E, R> {
+
+    /**
+     * Instantiates a new Mapped crud base data factory.
+     *
+     * @param iCacheService  the cache service
+     * @param crudRepository the crud repository
+     */
+    protected MappedCrudBaseDataFactory(ICacheService iCacheService, R crudRepository) {
+        super(iCacheService, crudRepository);
+    }
+
+    /**
+     * Entity mapper.
+     *
+     * @return the entity mapper
+     */
+    protected abstract IEntityMapper<E, M> entityMapper();
+
+    @Override
+    protected M convertToModel(E entity) {
+        return entityMapper().toModel(entity);
+    }
+
+    @Override
+    protected E createConvertToEntity(M model) {
+        return entityMapper().toEntity(model);
+    }
+
+    @Override
+    protected E updateConvertToEntity(M model, E oldEntity) {
+        entityMapper().merge(model, oldEntity);
+        return oldEntity;
+    }
+}
@@ -0,0 +1,47 @@
+package com.restaurant.factory.concurrent;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * The type Data factory executor.
+ * <p>
+ * Executor virtual thread (mỗi task một thread) cho các lời gọi factory bất đồng bộ, và {@link DbPermits}
+ * dùng chung giới hạn số lời gọi đồng thời xuống database. Số permit được {@link DbPermitsConfigurer} đặt
+ * theo {@code factory.db-permits} hoặc maximumPoolSize của Hikari lúc khởi động;
+ * {@link #DEFAULT_DB_PERMITS} chỉ dùng khi chưa cấu hình.
+ */
+public final class DataFactoryExecutor {
+
+    /**
+     * The constant DEFAULT_DB_PERMITS.
+     */
+    public static final int DEFAULT_DB_PERMITS = 10;
+
+    private static final ExecutorService SHARED = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("data-factory-", 0).factory()
+    );
+
+    private static final DbPermits SHARED_PERMITS = new DbPermits(DEFAULT_DB_PERMITS);
+
+    private DataFactoryExecutor() {
+    }
+
+    /**
+     * Shared virtual thread executor.
+     *
+     * @return the executor service
+     */
+    public static ExecutorService shared() {
+        return SHARED;
+    }
+
+    /**
+     * Shared database permits.
+     *
+     * @return the db permits
+     */
+    public static DbPermits sharedPermits() {
+        return SHARED_PERMITS;
+    }
+}
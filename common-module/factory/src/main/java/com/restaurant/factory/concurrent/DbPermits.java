@@ -0,0 +1,108 @@
+package com.restaurant.factory.concurrent;
+
+import java.util.concurrent.Semaphore;
+
+/**
+ * The type Db permits.
+ * <p>
+ * Semaphore giới hạn số lời gọi đồng thời xuống database, số permit đổi được lúc chạy (theo kích thước
+ * connection pool). Permit chỉ lấy quanh đoạn load / ghi database, đọc trúng cache không chiếm permit.
+ * Thread đang giữ permit gọi lồng vào factory khác không lấy thêm permit (tránh deadlock khi mọi permit
+ * đều bị giữ bởi các thread đang chờ permit thứ hai).
+ */
+public final class DbPermits {
+
+    private static final ThreadLocal<Boolean> HELD = new ThreadLocal<>();
+    private static final Permit NONE = () -> {
+    };
+
+    private final ResizableSemaphore semaphore;
+    private int size;
+
+    /**
+     * Instantiates a new Db permits.
+     *
+     * @param permits the permits
+     */
+    public DbPermits(int permits) {
+        if (permits <= 0) {
+            throw new IllegalArgumentException("permits must be positive");
+        }
+        this.semaphore = new ResizableSemaphore(permits);
+        this.size = permits;
+    }
+
+    /**
+     * Đổi số permit; permit đang bị giữ vẫn được trả lại bình thường.
+     *
+     * @param permits the permits
+     */
+    public synchronized void resize(int permits) {
+        if (permits <= 0) {
+            throw new IllegalArgumentException("permits must be positive");
+        }
+        int delta = permits - size;
+        if (delta > 0) {
+            semaphore.release(delta);
+        } else if (delta < 0) {
+            semaphore.reduce(-delta);
+        }
+        size = permits;
+    }
+
+    /**
+     * Số permit.
+     *
+     * @return the int
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Số permit còn trống.
+     *
+     * @return the int
+     */
+    public int available() {
+        return semaphore.availablePermits();
+    }
+
+    /**
+     * Lấy một permit, chờ nếu hết; thread đã giữ permit thì không lấy thêm.
+     *
+     * @return permit, trả lại bằng {@link Permit#close()}
+     */
+    public Permit acquire() {
+        if (HELD.get() != null) {
+            return NONE;
+        }
+        semaphore.acquireUninterruptibly();
+        HELD.set(Boolean.TRUE);
+        return () -> {
+            HELD.remove();
+            semaphore.release();
+        };
+    }
+
+    /**
+     * Permit đang giữ, dùng với try-with-resources.
+     */
+    @FunctionalInterface
+    public interface Permit extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+
+    private static final class ResizableSemaphore extends Semaphore {
+
+        private ResizableSemaphore(int permits) {
+            super(permits, true);
+        }
+
+        private void reduce(int reduction) {
+            reducePermits(reduction);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.restaurant.factory.concurrent;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+/**
+ * The type Db permits configurer.
+ * <p>
+ * Đặt số permit của {@link DataFactoryExecutor#sharedPermits()} lúc khởi động: theo {@code factory.db-permits}
+ * nếu có, không thì bằng maximumPoolSize của {@link HikariDataSource}; không xác định được thì giữ
+ * {@link DataFactoryExecutor#DEFAULT_DB_PERMITS}.
+ */
+@Slf4j
+@Component
+public class DbPermitsConfigurer implements InitializingBean {
+
+    private static final String HIKARI_DATA_SOURCE = "com.zaxxer.hikari.HikariDataSource";
+
+    private final ObjectProvider<DataSource> dataSource;
+    private final int configuredPermits;
+
+    /**
+     * Instantiates a new Db permits configurer.
+     *
+     * @param dataSource        the data source
+     * @param configuredPermits số permit cấu hình, 0 để lấy theo connection pool
+     */
+    public DbPermitsConfigurer(ObjectProvider<DataSource> dataSource,
+                               @Value("${factory.db-permits:0}") int configuredPermits) {
+        this.dataSource = dataSource;
+        this.configuredPermits = configuredPermits;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        int permits = configuredPermits > 0 ? configuredPermits : poolSize();
+        if (permits <= 0) {
+            log.info("Database permits: {} (default)", DataFactoryExecutor.sharedPermits().size());
+            return;
+        }
+        DataFactoryExecutor.sharedPermits().resize(permits);
+        log.info("Database permits: {}", permits);
+    }
+
+    private int poolSize() {
+        DataSource source = dataSource.getIfUnique();
+        if (source == null || !ClassUtils.isPresent(HIKARI_DATA_SOURCE, getClass().getClassLoader())) {
+            return 0;
+        }
+        return hikariPoolSize(source);
+    }
+
+    private static int hikariPoolSize(DataSource source) {
+        try {
+            if (source.isWrapperFor(HikariDataSource.class)) {
+                return source.unwrap(HikariDataSource.class).getMaximumPoolSize();
+            }
+        } catch (SQLException e) {
+            log.warn("Can not read connection pool size: {}", e.getMessage());
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,50 @@
+package com.restaurant.factory.concurrent;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The type Refresh ahead executor.
+ * <p>
+ * Executor dùng chung cho việc reload cache ở background; pool và queue đều giới hạn,
+ * khi đầy thì task bị từ chối (caller vẫn trả về giá trị đang có trong cache).
+ */
+public final class RefreshAheadExecutor {
+
+    private static final int CORE_POOL_SIZE = 2;
+    private static final int MAXIMUM_POOL_SIZE = 4;
+    private static final int QUEUE_CAPACITY = 256;
+
+    private static final Executor SHARED = create();
+
+    private RefreshAheadExecutor() {
+    }
+
+    /**
+     * Shared executor.
+     *
+     * @return the executor
+     */
+    public static Executor shared() {
+        return SHARED;
+    }
+
+    private static Executor create() {
+        AtomicInteger counter = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                CORE_POOL_SIZE, MAXIMUM_POOL_SIZE, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(QUEUE_CAPACITY),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "cache-refresh-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+}
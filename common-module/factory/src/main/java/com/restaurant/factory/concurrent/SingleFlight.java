@@ -0,0 +1,98 @@
+package com.restaurant.factory.concurrent;
+
+import com.restaurant.cache.exception.CacheException;
+import com.restaurant.factory.exception.DataFactoryException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * The type Single flight.
+ * <p>
+ * Gộp các lời gọi đồng thời cùng key: chỉ luồng đầu tiên chạy loader, các luồng khác chờ
+ * trên cùng future và nhận cùng kết quả (hoặc cùng exception).
+ */
+public class SingleFlight {
+
+    private final ConcurrentHashMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Execute loader once per key for all concurrent callers.
+     *
+     * @param <T>    the type parameter
+     * @param key    the key
+     * @param loader the loader
+     * @return the value
+     * @throws CacheException       the cache exception
+     * @throws DataFactoryException the data factory exception
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String key, Loader<T> loader) throws CacheException, DataFactoryException {
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            return (T) await(existing);
+        }
+        try {
+            T value = loader.load();
+            future.complete(value);
+            return value;
+        } catch (Throwable e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    /**
+     * In flight int.
+     *
+     * @return số key đang được load
+     */
+    public int inFlight() {
+        return inFlight.size();
+    }
+
+    private static Object await(CompletableFuture<Object> future) throws CacheException, DataFactoryException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DataFactoryException("Interrupted while waiting for in-flight load");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof DataFactoryException dataFactoryException) {
+                throw dataFactoryException;
+            }
+            if (cause instanceof CacheException cacheException) {
+                throw cacheException;
+            }
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    /**
+     * The interface Loader.
+     *
+     * @param <T> the type parameter
+     */
+    @FunctionalInterface
+    public interface Loader<T> {
+        /**
+         * Load t.
+         *
+         * @return the t
+         * @throws CacheException       the cache exception
+         * @throws DataFactoryException the data factory exception
+         */
+        T load() throws CacheException, DataFactoryException;
+    }
+}
@@ -0,0 +1,59 @@
+package com.restaurant.factory.enums;
+
+/**
+ * The enum Filter operator, phép so sánh giữa field của filter và thuộc tính của entity.
+ */
+public enum FilterOperator {
+    /**
+     * Bằng.
+     */
+    EQ,
+    /**
+     * Khác.
+     */
+    NE,
+    /**
+     * Nhỏ hơn.
+     */
+    LT,
+    /**
+     * Nhỏ hơn hoặc bằng.
+     */
+    LTE,
+    /**
+     * Lớn hơn.
+     */
+    GT,
+    /**
+     * Lớn hơn hoặc bằng.
+     */
+    GTE,
+    /**
+     * LIKE với pattern do caller truyền vào.
+     */
+    LIKE,
+    /**
+     * Chứa chuỗi ({@code %value%}, ký tự đặc biệt của LIKE được escape).
+     */
+    CONTAINS,
+    /**
+     * Bắt đầu bằng chuỗi ({@code value%}), dùng được index.
+     */
+    STARTS_WITH,
+    /**
+     * Kết thúc bằng chuỗi ({@code %value}).
+     */
+    ENDS_WITH,
+    /**
+     * Thuộc danh sách (Collection hoặc mảng), danh sách rỗng không khớp bản ghi nào.
+     */
+    IN,
+    /**
+     * Không thuộc danh sách, danh sách rỗng bỏ qua điều kiện.
+     */
+    NOT_IN,
+    /**
+     * Field kiểu Boolean: true là IS NULL, false là IS NOT NULL.
+     */
+    IS_NULL
+}
@@ -0,0 +1,52 @@
+package com.restaurant.factory.query;
+
+import com.restaurant.factory.enums.FilterOperator;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Đánh dấu field của {@link com.restaurant.data.model.IFilter} được dịch thành điều kiện WHERE.
+ * Field có giá trị null bị bỏ qua, các điều kiện được nối bằng AND.
+ * <pre>
+ * public class DishFilter implements IFilter {
+ *     &#64;FilterField(operator = FilterOperator.STARTS_WITH, ignoreCase = true)
+ *     private String name;
+ *     &#64;FilterField(path = "category.id")
+ *     private Long categoryId;
+ *     &#64;FilterField(path = "price", operator = FilterOperator.LTE)
+ *     private BigDecimal maxPrice;
+ * }
+ * </pre>
+ */
+@Documented
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface FilterField {
+
+    /**
+     * Đường dẫn thuộc tính của entity, phân cách bằng dấu chấm (chỉ thuộc tính đơn, không phải collection).
+     * Mặc định là tên field.
+     *
+     * @return the string
+     */
+    String path() default "";
+
+    /**
+     * Operator filter operator.
+     *
+     * @return the filter operator
+     */
+    FilterOperator operator() default FilterOperator.EQ;
+
+    /**
+     * So sánh chuỗi không phân biệt hoa thường ({@code lower(column)}), cần index trên biểu thức lower
+     * để không quét cả bảng.
+     *
+     * @return the boolean
+     */
+    boolean ignoreCase() default false;
+}
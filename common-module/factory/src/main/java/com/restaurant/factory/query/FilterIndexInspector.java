@@ -0,0 +1,227 @@
+package com.restaurant.factory.query;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.Embedded;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.OneToOne;
+import jakarta.persistence.Table;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Field;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The type Filter index inspector.
+ * <p>
+ * Tìm cột mà điều kiện của filter lọc trên đó, rồi đọc {@link DatabaseMetaData#getIndexInfo} để biết cột có
+ * là cột đầu của một index (hoặc khóa chính) không. Tên bảng / cột lấy từ {@link Table} / {@link Column} /
+ * {@link JoinColumn}, không có thì theo naming mặc định của Spring Boot (camelCase sang snake_case).
+ */
+@Slf4j
+public class FilterIndexInspector {
+
+    private final DataSource dataSource;
+    private final Map<String, Set<String>> indexedColumns = new HashMap<>();
+
+    /**
+     * Instantiates a new Filter index inspector.
+     *
+     * @param dataSource the data source
+     */
+    public FilterIndexInspector(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * Các path của filter lọc trên cột không có index.
+     *
+     * @param entityClass the entity class
+     * @param query       the filter query
+     * @return danh sách {@code path -> table.column}
+     * @throws SQLException the sql exception
+     */
+    public List<String> unindexedPaths(Class<?> entityClass, FilterQuery query) throws SQLException {
+        List<String> result = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            for (String path : query.paths()) {
+                ColumnRef column = resolve(entityClass, path);
+                if (column == null) {
+                    log.debug("Skip index check of {}.{}: can not resolve column", entityClass.getSimpleName(), path);
+                    continue;
+                }
+                Set<String> indexed = indexedColumns(metaData, column);
+                if (indexed == null) {
+                    log.debug("Skip index check of {}.{}: table {} not found", entityClass.getSimpleName(), path,
+                            column.table());
+                    continue;
+                }
+                if (!indexed.contains(column.column().toLowerCase(Locale.ROOT))) {
+                    result.add(path + " -> " + column.table() + "." + column.column());
+                }
+            }
+        }
+        return result;
+    }
+
+    private Set<String> indexedColumns(DatabaseMetaData metaData, ColumnRef column) throws SQLException {
+        String cacheKey = column.schema() + "." + column.table();
+        if (indexedColumns.containsKey(cacheKey)) {
+            return indexedColumns.get(cacheKey);
+        }
+        Set<String> result = null;
+        for (String table : List.of(column.table(), column.table().toLowerCase(Locale.ROOT),
+                column.table().toUpperCase(Locale.ROOT))) {
+            Set<String> columns = new HashSet<>();
+            boolean found = false;
+            try (ResultSet primaryKeys = metaData.getPrimaryKeys(null, column.schema(), table)) {
+                while (primaryKeys.next()) {
+                    found = true;
+                    if (primaryKeys.getShort("KEY_SEQ") == 1) {
+                        columns.add(primaryKeys.getString("COLUMN_NAME").toLowerCase(Locale.ROOT));
+                    }
+                }
+            }
+            try (ResultSet indexes = metaData.getIndexInfo(null, column.schema(), table, false, true)) {
+                while (indexes.next()) {
+                    found = true;
+                    String name = indexes.getString("COLUMN_NAME");
+                    if (name != null && indexes.getShort("ORDINAL_POSITION") == 1) {
+                        columns.add(name.toLowerCase(Locale.ROOT));
+                    }
+                }
+            }
+            if (found) {
+                result = columns;
+                break;
+            }
+        }
+        indexedColumns.put(cacheKey, result);
+        return result;
+    }
+
+    /**
+     * Cột tương ứng path của entity: thuộc tính đơn, embedded, hoặc {@code association} / {@code association.id}
+     * (cột khóa ngoại của bảng hiện tại); {@code association.name} là cột của bảng được join.
+     */
+    private static ColumnRef resolve(Class<?> entityClass, String path) {
+        String[] attributes = path.split("\\.");
+        Class<?> tableClass = entityClass;
+        Class<?> current = entityClass;
+        for (int i = 0; i < attributes.length; i++) {
+            Field field = findField(current, attributes[i]);
+            if (field == null) {
+                return null;
+            }
+            boolean association = field.isAnnotationPresent(ManyToOne.class)
+                    || field.isAnnotationPresent(OneToOne.class);
+            if (i == attributes.length - 1) {
+                if (association) {
+                    Field id = findId(field.getType());
+                    return id == null
+                            ? null
+                            : new ColumnRef(schema(tableClass), table(tableClass), joinColumn(field, id));
+                }
+                return new ColumnRef(schema(tableClass), table(tableClass), column(field));
+            }
+            if (field.isAnnotationPresent(Embedded.class) || field.getType().isAnnotationPresent(Embeddable.class)) {
+                current = field.getType();
+                continue;
+            }
+            if (association) {
+                Field next = findField(field.getType(), attributes[i + 1]);
+                if (i + 1 == attributes.length - 1 && next != null && next.isAnnotationPresent(Id.class)) {
+                    return new ColumnRef(schema(tableClass), table(tableClass), joinColumn(field, next));
+                }
+                tableClass = field.getType();
+                current = field.getType();
+                continue;
+            }
+            return null;
+        }
+        return null;
+    }
+
+    private static Field findField(Class<?> type, String name) {
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                if (field.getName().equals(name)) {
+                    return field;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static Field findId(Class<?> type) {
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                if (field.isAnnotationPresent(Id.class)) {
+                    return field;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static String table(Class<?> entityClass) {
+        Table table = entityClass.getAnnotation(Table.class);
+        return table != null && !table.name().isEmpty() ? table.name() : snakeCase(entityClass.getSimpleName());
+    }
+
+    private static String schema(Class<?> entityClass) {
+        Table table = entityClass.getAnnotation(Table.class);
+        return table != null && !table.schema().isEmpty() ? table.schema() : null;
+    }
+
+    private static String column(Field field) {
+        Column column = field.getAnnotation(Column.class);
+        if (column != null && !column.name().isEmpty()) {
+            return column.name();
+        }
+        JoinColumn joinColumn = field.getAnnotation(JoinColumn.class);
+        if (joinColumn != null && !joinColumn.name().isEmpty()) {
+            return joinColumn.name();
+        }
+        return snakeCase(field.getName());
+    }
+
+    private static String joinColumn(Field association, Field id) {
+        JoinColumn joinColumn = association.getAnnotation(JoinColumn.class);
+        if (joinColumn != null && !joinColumn.name().isEmpty()) {
+            return joinColumn.name();
+        }
+        return snakeCase(association.getName()) + "_" + column(id);
+    }
+
+    /**
+     * Giống CamelCaseToUnderscoresNamingStrategy: thêm '_' trước chữ hoa nằm giữa hai chữ thường.
+     */
+    private static String snakeCase(String name) {
+        StringBuilder builder = new StringBuilder(name.replace('.', '_'));
+        for (int i = 1; i < builder.length() - 1; i++) {
+            if (Character.isLowerCase(builder.charAt(i - 1)) && Character.isUpperCase(builder.charAt(i))
+                    && Character.isLowerCase(builder.charAt(i + 1))) {
+                builder.insert(i++, '_');
+            }
+        }
+        return builder.toString().toLowerCase(Locale.ROOT);
+    }
+
+    private record ColumnRef(String schema, String table, String column) {
+    }
+}
@@ -0,0 +1,55 @@
+package com.restaurant.factory.query;
+
+import com.restaurant.data.model.IFilter;
+import com.restaurant.factory.JpaCrudBaseDataFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+/**
+ * The type Filter index verifier.
+ * <p>
+ * Khi khởi động, với mỗi {@link JpaCrudBaseDataFactory}, cảnh báo các điều kiện filter lọc trên cột không có index
+ * (query list khi đó quét cả bảng thay vì tỉ lệ với số bản ghi trả về). Chỉ ghi log, không chặn khởi động;
+ * tắt bằng {@code factory.filter.index-check=false}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnClass(name = "org.springframework.data.jpa.domain.Specification")
+@ConditionalOnProperty(name = "factory.filter.index-check", havingValue = "true", matchIfMissing = true)
+public class FilterIndexVerifier implements SmartInitializingSingleton {
+
+    private final ObjectProvider<DataSource> dataSource;
+    private final ObjectProvider<JpaCrudBaseDataFactory<?, ?, ?, ?, ?>> factories;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        DataSource source = dataSource.getIfUnique();
+        if (source == null) {
+            return;
+        }
+        FilterIndexInspector inspector = new FilterIndexInspector(source);
+        factories.orderedStream().forEach(factory -> verify(inspector, factory));
+    }
+
+    private void verify(FilterIndexInspector inspector, JpaCrudBaseDataFactory<?, ?, ?, ?, ?> factory) {
+        for (Class<? extends IFilter> filterClass : factory.filterClasses()) {
+            try {
+                for (String path : inspector.unindexedPaths(factory.entityClass(), FilterQuery.of(filterClass))) {
+                    log.warn("Filter {} has no index on {}, list queries will scan the table",
+                            filterClass.getSimpleName(), path);
+                }
+            } catch (SQLException | RuntimeException e) {
+                log.warn("Can not check index of filter {}: {}", filterClass.getSimpleName(), e.toString());
+            }
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.restaurant.factory.query;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Đánh dấu field kiểu số chứa số bản ghi tối đa của list, đưa vào LIMIT. Null hoặc nhỏ hơn 1 là không giới hạn.
+ */
+@Documented
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface FilterLimit {
+}
@@ -0,0 +1,280 @@
+package com.restaurant.factory.query;
+
+import com.restaurant.data.model.IFilter;
+import com.restaurant.factory.enums.FilterOperator;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * The type Filter query.
+ * <p>
+ * Dịch filter có {@link FilterField} / {@link FilterSort} / {@link FilterLimit} thành {@link Specification},
+ * {@link Sort} và limit để query chạy trong database thay vì load cả bảng rồi lọc trong bộ nhớ.
+ * Field được đọc một lần cho mỗi class filter (kể cả class cha) và cache theo class.
+ */
+public final class FilterQuery {
+
+    private static final char LIKE_ESCAPE = '\\';
+    private static final FilterQuery EMPTY = new FilterQuery(List.of(), null, null);
+
+    private static final ClassValue<FilterQuery> QUERIES = new ClassValue<>() {
+        @Override
+        protected FilterQuery computeValue(Class<?> type) {
+            return compile(type);
+        }
+    };
+
+    private final List<Condition> conditions;
+    private final Field sortField;
+    private final Field limitField;
+
+    private FilterQuery(List<Condition> conditions, Field sortField, Field limitField) {
+        this.conditions = conditions;
+        this.sortField = sortField;
+        this.limitField = limitField;
+    }
+
+    /**
+     * Query của class filter.
+     *
+     * @param filterClass the filter class
+     * @return the filter query
+     */
+    public static FilterQuery of(Class<? extends IFilter> filterClass) {
+        return QUERIES.get(filterClass);
+    }
+
+    /**
+     * Query của filter, filter null trả về query rỗng.
+     *
+     * @param filter the filter
+     * @return the filter query
+     */
+    public static FilterQuery of(IFilter filter) {
+        return filter == null ? EMPTY : QUERIES.get(filter.getClass());
+    }
+
+    /**
+     * Is declarative boolean.
+     *
+     * @return true nếu class filter có ít nhất một field được đánh dấu
+     */
+    public boolean isDeclarative() {
+        return !conditions.isEmpty() || sortField != null || limitField != null;
+    }
+
+    /**
+     * Đường dẫn thuộc tính entity của các điều kiện, dùng để kiểm tra index.
+     *
+     * @return the list
+     */
+    public List<String> paths() {
+        List<String> paths = new ArrayList<>(conditions.size());
+        for (Condition condition : conditions) {
+            paths.add(condition.path());
+        }
+        return paths;
+    }
+
+    /**
+     * Specification của filter, các điều kiện nối bằng AND.
+     *
+     * @param <E>    the type parameter
+     * @param filter the filter
+     * @return the specification
+     */
+    public <E> Specification<E> specification(IFilter filter) {
+        return (root, query, cb) -> {
+            if (filter == null || conditions.isEmpty()) {
+                return null;
+            }
+            List<Predicate> predicates = new ArrayList<>(conditions.size());
+            for (Condition condition : conditions) {
+                Object value = read(condition.field(), filter);
+                if (value == null) {
+                    continue;
+                }
+                Path<?> path = root;
+                for (String attribute : condition.attributes()) {
+                    path = path.get(attribute);
+                }
+                Predicate predicate = predicate(cb, path, condition, value);
+                if (predicate != null) {
+                    predicates.add(predicate);
+                }
+            }
+            return predicates.isEmpty() ? null : cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    /**
+     * Sort của filter.
+     *
+     * @param filter the filter
+     * @return the sort, {@link Sort#unsorted()} nếu filter không có sort
+     */
+    public Sort sort(IFilter filter) {
+        if (filter == null || sortField == null) {
+            return Sort.unsorted();
+        }
+        Object value = read(sortField, filter);
+        if (value instanceof Sort sort) {
+            return sort;
+        }
+        if (value instanceof String text) {
+            return parseSort(List.of(text.split(",")));
+        }
+        if (value instanceof Collection<?> values) {
+            List<String> properties = new ArrayList<>(values.size());
+            for (Object property : values) {
+                properties.add(String.valueOf(property));
+            }
+            return parseSort(properties);
+        }
+        return Sort.unsorted();
+    }
+
+    /**
+     * Limit của filter.
+     *
+     * @param filter the filter
+     * @return the limit, 0 nếu không giới hạn
+     */
+    public int limit(IFilter filter) {
+        if (filter == null || limitField == null) {
+            return 0;
+        }
+        Object value = read(limitField, filter);
+        return value instanceof Number number ? Math.max(0, number.intValue()) : 0;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Predicate predicate(CriteriaBuilder cb, Path<?> path, Condition condition, Object value) {
+        Expression expression = path;
+        Object operand = value;
+        if (condition.ignoreCase() && value instanceof String text) {
+            expression = cb.lower((Expression<String>) path);
+            operand = text.toLowerCase(Locale.ROOT);
+        }
+        return switch (condition.operator()) {
+            case EQ -> cb.equal(expression, operand);
+            case NE -> cb.notEqual(expression, operand);
+            case LT -> cb.lessThan(expression, (Comparable) operand);
+            case LTE -> cb.lessThanOrEqualTo(expression, (Comparable) operand);
+            case GT -> cb.greaterThan(expression, (Comparable) operand);
+            case GTE -> cb.greaterThanOrEqualTo(expression, (Comparable) operand);
+            case LIKE -> cb.like(expression, String.valueOf(operand));
+            case CONTAINS -> cb.like(expression, "%" + escapeLike(operand) + "%", LIKE_ESCAPE);
+            case STARTS_WITH -> cb.like(expression, escapeLike(operand) + "%", LIKE_ESCAPE);
+            case ENDS_WITH -> cb.like(expression, "%" + escapeLike(operand), LIKE_ESCAPE);
+            case IN -> {
+                Collection<?> values = toCollection(value);
+                yield values.isEmpty() ? cb.disjunction() : path.in(values);
+            }
+            case NOT_IN -> {
+                Collection<?> values = toCollection(value);
+                yield values.isEmpty() ? null : cb.not(path.in(values));
+            }
+            case IS_NULL -> Boolean.TRUE.equals(value) ? cb.isNull(path) : cb.isNotNull(path);
+        };
+    }
+
+    private static String escapeLike(Object value) {
+        String text = String.valueOf(value);
+        StringBuilder escaped = new StringBuilder(text.length() + 4);
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '%' || c == '_' || c == LIKE_ESCAPE) {
+                escaped.append(LIKE_ESCAPE);
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+
+    private static Collection<?> toCollection(Object value) {
+        if (value instanceof Collection<?> values) {
+            return values;
+        }
+        if (value.getClass().isArray()) {
+            int length = Array.getLength(value);
+            List<Object> values = new ArrayList<>(length);
+            for (int i = 0; i < length; i++) {
+                values.add(Array.get(value, i));
+            }
+            return values;
+        }
+        return Collections.singletonList(value);
+    }
+
+    private static Sort parseSort(List<String> properties) {
+        List<Sort.Order> orders = new ArrayList<>(properties.size());
+        for (String property : properties) {
+            String name = property.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            orders.add(name.charAt(0) == '-'
+                    ? Sort.Order.desc(name.substring(1))
+                    : Sort.Order.asc(name.charAt(0) == '+' ? name.substring(1) : name));
+        }
+        return Sort.by(orders);
+    }
+
+    private static Object read(Field field, IFilter filter) {
+        try {
+            return field.get(filter);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Can not read filter field " + field, e);
+        }
+    }
+
+    private static FilterQuery compile(Class<?> type) {
+        List<Condition> conditions = new ArrayList<>();
+        Field sortField = null;
+        Field limitField = null;
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers())) {
+                    continue;
+                }
+                FilterField filterField = field.getAnnotation(FilterField.class);
+                if (filterField != null) {
+                    field.setAccessible(true);
+                    String path = filterField.path().isEmpty() ? field.getName() : filterField.path();
+                    conditions.add(new Condition(field, path, path.split("\\."), filterField.operator(),
+                            filterField.ignoreCase()));
+                }
+                if (sortField == null && field.isAnnotationPresent(FilterSort.class)) {
+                    field.setAccessible(true);
+                    sortField = field;
+                }
+                if (limitField == null && field.isAnnotationPresent(FilterLimit.class)) {
+                    field.setAccessible(true);
+                    limitField = field;
+                }
+            }
+        }
+        if (conditions.isEmpty() && sortField == null && limitField == null) {
+            return EMPTY;
+        }
+        return new FilterQuery(List.copyOf(conditions), sortField, limitField);
+    }
+
+    private record Condition(Field field, String path, String[] attributes, FilterOperator operator,
+                             boolean ignoreCase) {
+    }
+}
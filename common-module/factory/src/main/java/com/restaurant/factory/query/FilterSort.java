@@ -0,0 +1,18 @@
+package com.restaurant.factory.query;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Đánh dấu field chứa thứ tự sắp xếp của filter, đưa vào ORDER BY.
+ * Field có kiểu {@link org.springframework.data.domain.Sort}, hoặc String / Collection String dạng
+ * {@code "name,-price"} (tiền tố {@code -} là giảm dần).
+ */
+@Documented
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface FilterSort {
+}
@@ -0,0 +1,309 @@
+package com.restaurant.factory.writebehind;
+
+import com.restaurant.cache.metrics.CacheMetrics;
+import com.restaurant.data.model.IBaseModel;
+import com.restaurant.factory.exception.DataFactoryException;
+import com.restaurant.utils.MapperUtil;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BinaryOperator;
+
+/**
+ * The type Write behind buffer.
+ * <p>
+ * Giữ bản mới nhất của mỗi id (gom nhiều update cùng id thành một lần ghi), ghi journal trước khi nhận update
+ * và flush xuống database theo batch. Bản ghi trong journal chỉ bị xóa sau khi database đã ghi xong,
+ * khởi động lại sẽ replay journal nên crash không làm mất update đã được nhận.
+ * <p>
+ * Mỗi buffer có một thread flush riêng, flush chậm của model này không làm trễ model khác.
+ * Gọi {@link #start()} sau khi tạo để replay journal và bắt đầu lịch flush.
+ *
+ * @param <I> the type parameter
+ * @param <M> the type parameter
+ */
+@Slf4j
+public class WriteBehindBuffer<I extends Serializable, M extends IBaseModel<I>> implements AutoCloseable {
+
+    private static final String OUTCOME_SUCCESS = "success";
+    private static final String OUTCOME_ERROR = "error";
+
+    private final String modelTag;
+    private final Class<M> modelClass;
+    private final Flusher<M> flusher;
+    private final int batchSize;
+    private final Duration flushInterval;
+    private final WriteBehindJournal journal;
+    private final ScheduledExecutorService flushExecutor;
+    private final Map<I, Pending<M>> pending = new ConcurrentHashMap<>();
+    private final ReentrantLock journalLock = new ReentrantLock();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final CacheMetrics cacheMetrics = CacheMetrics.global();
+
+    /**
+     * Instantiates a new Write behind buffer, mở journal; chưa replay, chưa flush cho đến khi {@link #start()}.
+     *
+     * @param modelTag      the model tag
+     * @param modelClass    the model class
+     * @param journalDir    thư mục journal tuyệt đối, riêng cho từng model và từng instance
+     * @param flushInterval the flush interval
+     * @param batchSize     the batch size
+     * @param flusher       ghi một batch model xuống database
+     * @throws IOException nếu journalDir không tuyệt đối hoặc không mở được journal
+     */
+    public WriteBehindBuffer(String modelTag,
+                             Class<M> modelClass,
+                             Path journalDir,
+                             Duration flushInterval,
+                             int batchSize,
+                             Flusher<M> flusher) throws IOException {
+        if (!journalDir.isAbsolute()) {
+            throw new IOException("Write behind journal dir must be absolute: " + journalDir);
+        }
+        this.modelTag = modelTag;
+        this.modelClass = modelClass;
+        this.flusher = flusher;
+        this.batchSize = batchSize;
+        this.flushInterval = flushInterval;
+        this.journal = new WriteBehindJournal(journalDir);
+        this.flushExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "write-behind-flush-" + modelTag);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Replay journal còn lại từ lần chạy trước và bắt đầu lịch flush.
+     *
+     * @throws IOException the io exception
+     */
+    public void start() throws IOException {
+        replay();
+        cacheMetrics.writeBehindPending(modelTag, pending::size);
+        long intervalMillis = flushInterval.toMillis();
+        flushExecutor.scheduleWithFixedDelay(this::flushQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Nhận một update từng phần: gộp {@code changes} vào bản đầy đủ đang chờ của id (hoặc {@code base} nếu
+     * id chưa có trong buffer), ghi journal bản đã gộp rồi thay bản đang chờ.
+     *
+     * @param id      the id
+     * @param base    bản đầy đủ đọc từ database, dùng khi id chưa có trong buffer
+     * @param changes the changes
+     * @param merger  gộp changes vào bản đầy đủ, trả về bản mới
+     * @return bản đầy đủ sau khi gộp
+     * @throws DataFactoryException nếu không ghi được journal, update không được nhận
+     */
+    public M merge(I id, M base, M changes, BinaryOperator<M> merger) throws DataFactoryException {
+        M merged;
+        journalLock.lock();
+        try {
+            Pending<M> old = pending.get(id);
+            merged = merger.apply(old == null ? base : old.model(), changes);
+            journal.append(MapperUtil.mapper.writeValueAsBytes(merged));
+            pending.put(id, new Pending<>(merged, old == null ? System.nanoTime() : old.since()));
+        } catch (IOException e) {
+            log.error("Write behind journal exception for {} id {}", modelTag, id, e);
+            throw new DataFactoryException("Can not journal write behind update");
+        } finally {
+            journalLock.unlock();
+        }
+        requestFlushIfFull();
+        return merged;
+    }
+
+    /**
+     * Bản đang chờ flush của id.
+     *
+     * @param id the id
+     * @return the model, null nếu không có
+     */
+    public M get(I id) {
+        Pending<M> value = pending.get(id);
+        return value == null ? null : value.model();
+    }
+
+    /**
+     * Bỏ update đang chờ của id, chỉ gọi sau khi row đã bị xóa khỏi database. Bản ghi còn trong journal
+     * vẫn được replay khi khởi động lại; lúc flush nó bị bỏ qua vì id không còn trong database, nếu row vẫn còn
+     * thì update được ghi lại.
+     *
+     * @param id the id
+     */
+    public void discard(I id) {
+        pending.remove(id);
+    }
+
+    /**
+     * Size int.
+     *
+     * @return số id đang chờ flush
+     */
+    public int size() {
+        return pending.size();
+    }
+
+    /**
+     * Flush toàn bộ update đang chờ xuống database theo batch.
+     */
+    public void flush() {
+        flushLock.lock();
+        try {
+            Path flushedSegment;
+            List<Map.Entry<I, Pending<M>>> snapshot;
+            journalLock.lock();
+            try {
+                if (pending.isEmpty()) {
+                    return;
+                }
+                flushedSegment = journal.rotate();
+                snapshot = new ArrayList<>(pending.entrySet());
+            } finally {
+                journalLock.unlock();
+            }
+            List<Map.Entry<I, Pending<M>>> failed = new ArrayList<>();
+            for (int from = 0; from < snapshot.size(); from += batchSize) {
+                List<Map.Entry<I, Pending<M>>> chunk = snapshot.subList(from, Math.min(from + batchSize, snapshot.size()));
+                List<M> models = new ArrayList<>(chunk.size());
+                for (Map.Entry<I, Pending<M>> entry : chunk) {
+                    models.add(entry.getValue().model());
+                }
+                try {
+                    flusher.flush(models);
+                    long now = System.nanoTime();
+                    for (Map.Entry<I, Pending<M>> entry : chunk) {
+                        cacheMetrics.writeBehindLag(modelTag, now - entry.getValue().since());
+                        pending.remove(entry.getKey(), entry.getValue());
+                    }
+                    cacheMetrics.writeBehindFlushed(modelTag, OUTCOME_SUCCESS, chunk.size());
+                } catch (Exception e) {
+                    log.error("Write behind flush exception for {} ({} models)", modelTag, chunk.size(), e);
+                    cacheMetrics.writeBehindFlushed(modelTag, OUTCOME_ERROR, chunk.size());
+                    failed.addAll(chunk);
+                }
+            }
+            journalLock.lock();
+            try {
+                // ghi lại vào segment mới các update chưa flush được (và chưa bị update mới hơn thay thế)
+                for (Map.Entry<I, Pending<M>> entry : failed) {
+                    if (pending.get(entry.getKey()) == entry.getValue()) {
+                        journal.append(MapperUtil.mapper.writeValueAsBytes(entry.getValue().model()));
+                    }
+                }
+                journal.delete(flushedSegment);
+            } finally {
+                journalLock.unlock();
+            }
+        } catch (IOException e) {
+            log.error("Write behind journal exception for {}", modelTag, e);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Dừng thread flush, flush lần cuối và đóng journal.
+     */
+    @Override
+    public void close() {
+        // lần flush đang chạy (nếu có) giữ flushLock, flush() dưới đây chờ nó xong
+        flushExecutor.shutdown();
+        flush();
+        journalLock.lock();
+        try {
+            journal.close();
+        } catch (IOException e) {
+            log.error("Write behind journal close exception for {}", modelTag, e);
+        } finally {
+            journalLock.unlock();
+        }
+    }
+
+    private void requestFlushIfFull() {
+        if (pending.size() >= batchSize && flushRequested.compareAndSet(false, true)) {
+            try {
+                flushExecutor.execute(() -> {
+                    flushRequested.set(false);
+                    flushQuietly();
+                });
+            } catch (RejectedExecutionException e) {
+                // buffer đang đóng, close() flush lần cuối
+                flushRequested.set(false);
+            }
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.error("Write behind flush exception for {}", modelTag, e);
+        }
+    }
+
+    private void replay() throws IOException {
+        List<Path> segments = journal.previousSegments();
+        if (segments.isEmpty()) {
+            return;
+        }
+        Map<I, M> replayed = new LinkedHashMap<>();
+        for (Path segment : segments) {
+            for (byte[] record : WriteBehindJournal.read(segment)) {
+                M model = MapperUtil.readValue(record, modelClass);
+                if (model != null && model.getId() != null) {
+                    replayed.put(model.getId(), model);
+                }
+            }
+        }
+        long now = System.nanoTime();
+        journalLock.lock();
+        try {
+            for (Map.Entry<I, M> entry : replayed.entrySet()) {
+                journal.append(MapperUtil.mapper.writeValueAsBytes(entry.getValue()));
+                pending.put(entry.getKey(), new Pending<>(entry.getValue(), now));
+            }
+            for (Path segment : segments) {
+                journal.delete(segment);
+            }
+        } finally {
+            journalLock.unlock();
+        }
+        log.info("Write behind replayed {} pending {} from journal", replayed.size(), modelTag);
+    }
+
+    private record Pending<M>(M model, long since) {
+    }
+
+    /**
+     * The interface Flusher.
+     *
+     * @param <M> the type parameter
+     */
+    @FunctionalInterface
+    public interface Flusher<M> {
+        /**
+         * Ghi một batch model xuống database.
+         *
+         * @param models the models
+         * @throws Exception the exception
+         */
+        void flush(List<M> models) throws Exception;
+    }
+}
@@ -0,0 +1,178 @@
+package com.restaurant.factory.writebehind;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * The type Write behind journal.
+ * <p>
+ * Journal append-only chia theo segment {@code segment-<seq>.log}, mỗi bản ghi một dòng và được
+ * {@code fsync} trước khi {@link #append(byte[])} trả về. Khi flush, buffer {@link #rotate()} sang segment mới
+ * rồi xóa segment cũ sau khi database đã ghi xong. Thư mục được khóa bằng file {@code journal.lock}
+ * trong lúc mở, hai instance không dùng chung được một thư mục. Không thread-safe, caller tự đồng bộ.
+ */
+final class WriteBehindJournal implements Closeable {
+
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String LOCK_FILE = "journal.lock";
+    private static final byte NEW_LINE = '\n';
+
+    private final Path directory;
+    private final FileChannel lockChannel;
+    private long sequence;
+    private Path current;
+    private FileChannel channel;
+
+    /**
+     * Instantiates a new Write behind journal, khóa thư mục và mở segment mới sau các segment đang có.
+     *
+     * @param directory the directory
+     * @throws IOException nếu thư mục đang được instance khác dùng hoặc không mở được segment
+     */
+    WriteBehindJournal(Path directory) throws IOException {
+        this.directory = directory;
+        Files.createDirectories(directory);
+        this.lockChannel = lock(directory.resolve(LOCK_FILE));
+        try {
+            List<Path> existing = segments();
+            this.sequence = existing.isEmpty() ? 0 : sequenceOf(existing.get(existing.size() - 1));
+            open();
+        } catch (IOException e) {
+            lockChannel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Các segment cũ (trước segment đang ghi), theo thứ tự ghi.
+     *
+     * @return the list
+     * @throws IOException the io exception
+     */
+    List<Path> previousSegments() throws IOException {
+        List<Path> previous = new ArrayList<>();
+        for (Path segment : segments()) {
+            if (!segment.equals(current)) {
+                previous.add(segment);
+            }
+        }
+        return previous;
+    }
+
+    /**
+     * Append một bản ghi và fsync.
+     *
+     * @param record the record, không chứa ký tự xuống dòng
+     * @throws IOException the io exception
+     */
+    void append(byte[] record) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(record.length + 1).put(record).put(NEW_LINE).flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        channel.force(false);
+    }
+
+    /**
+     * Đóng segment hiện tại và mở segment mới.
+     *
+     * @return segment vừa đóng
+     * @throws IOException the io exception
+     */
+    Path rotate() throws IOException {
+        Path previous = current;
+        channel.close();
+        open();
+        return previous;
+    }
+
+    /**
+     * Delete segment.
+     *
+     * @param segment the segment
+     * @throws IOException the io exception
+     */
+    void delete(Path segment) throws IOException {
+        Files.deleteIfExists(segment);
+    }
+
+    /**
+     * Đọc các bản ghi của một segment, bỏ dòng rỗng.
+     *
+     * @param segment the segment
+     * @return the list
+     * @throws IOException the io exception
+     */
+    static List<byte[]> read(Path segment) throws IOException {
+        byte[] content = Files.readAllBytes(segment);
+        List<byte[]> records = new ArrayList<>();
+        int start = 0;
+        for (int i = 0; i < content.length; i++) {
+            if (content[i] == NEW_LINE) {
+                if (i > start) {
+                    byte[] record = new byte[i - start];
+                    System.arraycopy(content, start, record, 0, record.length);
+                    records.add(record);
+                }
+                start = i + 1;
+            }
+        }
+        // dòng cuối không có '\n' là bản ghi ghi dở khi crash, bỏ qua
+        return records;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            channel.close();
+        } finally {
+            lockChannel.close();
+        }
+    }
+
+    private static FileChannel lock(Path lockFile) throws IOException {
+        FileChannel lockChannel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        try {
+            if (lockChannel.tryLock() != null) {
+                return lockChannel;
+            }
+        } catch (OverlappingFileLockException e) {
+            // thư mục đã được mở trong chính JVM này
+        }
+        lockChannel.close();
+        throw new IOException("Write behind journal dir is used by another instance: " + lockFile.getParent());
+    }
+
+    private void open() throws IOException {
+        sequence++;
+        current = directory.resolve(SEGMENT_PREFIX + sequence + SEGMENT_SUFFIX);
+        channel = FileChannel.open(current, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+                    })
+                    .sorted(Comparator.comparingLong(WriteBehindJournal::sequenceOf))
+                    .toList();
+        }
+    }
+
+    private static long sequenceOf(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+}
@@ -0,0 +1,177 @@
+package com.restaurant.factory.writebehind;
+
+import com.restaurant.data.model.IBaseModel;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+class WriteBehindBufferTest {
+
+    private static final Duration NO_SCHEDULED_FLUSH = Duration.ofHours(1);
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void mergeStartsFromBaseThenFromPending() throws Exception {
+        List<Item> flushed = new ArrayList<>();
+        try (WriteBehindBuffer<String, Item> buffer = buffer(flushed::addAll)) {
+            buffer.merge("1", new Item("1", "base", 1), new Item("1", "renamed", null), WriteBehindBufferTest::merge);
+            Item merged = buffer.merge("1", new Item("1", "stale", 0), new Item("1", null, 5),
+                    WriteBehindBufferTest::merge);
+
+            Assertions.assertThat(merged).isEqualTo(new Item("1", "renamed", 5));
+            Assertions.assertThat(buffer.get("1")).isEqualTo(merged);
+
+            buffer.flush();
+
+            Assertions.assertThat(flushed).containsExactly(new Item("1", "renamed", 5));
+            Assertions.assertThat(buffer.size()).isZero();
+        }
+    }
+
+    @Test
+    void failedChunkIsJournaledAgainAndFlushedLater() throws Exception {
+        AtomicBoolean failing = new AtomicBoolean(true);
+        List<Item> flushed = new ArrayList<>();
+        try (WriteBehindBuffer<String, Item> buffer = buffer(models -> {
+            if (failing.get()) {
+                throw new IllegalStateException("database down");
+            }
+            flushed.addAll(models);
+        })) {
+            buffer.merge("1", new Item("1", "a", 1), new Item("1", null, null), WriteBehindBufferTest::merge);
+
+            buffer.flush();
+
+            Assertions.assertThat(buffer.size()).isEqualTo(1);
+            Assertions.assertThat(flushed).isEmpty();
+
+            failing.set(false);
+            buffer.flush();
+
+            Assertions.assertThat(buffer.size()).isZero();
+            Assertions.assertThat(flushed).containsExactly(new Item("1", "a", 1));
+        }
+    }
+
+    @Test
+    void startReplaysUpdatesLeftInJournal() throws Exception {
+        // flush lúc close lỗi: update chỉ còn trong journal, giống crash trước khi database ghi xong
+        WriteBehindBuffer<String, Item> crashed = buffer(models -> {
+            throw new IllegalStateException("database down");
+        });
+        crashed.merge("1", new Item("1", "a", 1), new Item("1", null, 2), WriteBehindBufferTest::merge);
+        crashed.merge("2", new Item("2", "b", 1), new Item("2", null, null), WriteBehindBufferTest::merge);
+        crashed.close();
+
+        List<Item> flushed = new ArrayList<>();
+        try (WriteBehindBuffer<String, Item> buffer = buffer(flushed::addAll)) {
+            Assertions.assertThat(buffer.size()).isEqualTo(2);
+            Assertions.assertThat(buffer.get("1")).isEqualTo(new Item("1", "a", 2));
+
+            buffer.flush();
+
+            Assertions.assertThat(flushed).containsExactlyInAnyOrder(new Item("1", "a", 2), new Item("2", "b", 1));
+        }
+
+        try (WriteBehindBuffer<String, Item> buffer = buffer(flushed::addAll)) {
+            Assertions.assertThat(buffer.size()).isZero();
+        }
+    }
+
+    @Test
+    void relativeJournalDirIsRejected() {
+        Assertions.assertThatThrownBy(() -> new WriteBehindBuffer<>("item", Item.class, Path.of("write-behind"),
+                        NO_SCHEDULED_FLUSH, 10, models -> {
+                        }))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("absolute");
+    }
+
+    private WriteBehindBuffer<String, Item> buffer(WriteBehindBuffer.Flusher<Item> flusher) throws IOException {
+        WriteBehindBuffer<String, Item> buffer = new WriteBehindBuffer<>("item", Item.class, dir,
+                NO_SCHEDULED_FLUSH, 10, flusher);
+        buffer.start();
+        return buffer;
+    }
+
+    private static Item merge(Item pending, Item changes) {
+        return new Item(
+                pending.getId(),
+                changes.getName() != null ? changes.getName() : pending.getName(),
+                changes.getQuantity() != null ? changes.getQuantity() : pending.getQuantity()
+        );
+    }
+
+    /**
+     * The type Item.
+     */
+    public static class Item implements IBaseModel<String> {
+
+        private String id;
+        private String name;
+        private Integer quantity;
+
+        /**
+         * Instantiates a new Item.
+         */
+        public Item() {
+        }
+
+        Item(String id, String name, Integer quantity) {
+            this.id = id;
+            this.name = name;
+            this.quantity = quantity;
+        }
+
+        @Override
+        public String getId() {
+            return id;
+        }
+
+        public void setId(String id) {
+            this.id = id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public Integer getQuantity() {
+            return quantity;
+        }
+
+        public void setQuantity(Integer quantity) {
+            this.quantity = quantity;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Item item && Objects.equals(id, item.id)
+                    && Objects.equals(name, item.name) && Objects.equals(quantity, item.quantity);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(id, name, quantity);
+        }
+
+        @Override
+        public String toString() {
+            return "Item(" + id + ", " + name + ", " + quantity + ")";
+        }
+    }
+}
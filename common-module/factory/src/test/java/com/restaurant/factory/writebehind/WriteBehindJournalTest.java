@@ -0,0 +1,86 @@
+package com.restaurant.factory.writebehind;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+class WriteBehindJournalTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void appendThenRotateKeepsRecordsInOrder() throws IOException {
+        try (WriteBehindJournal journal = new WriteBehindJournal(dir)) {
+            journal.append(bytes("a"));
+            journal.append(bytes("b"));
+
+            Path rotated = journal.rotate();
+            journal.append(bytes("c"));
+
+            Assertions.assertThat(text(WriteBehindJournal.read(rotated))).containsExactly("a", "b");
+            Assertions.assertThat(journal.previousSegments()).containsExactly(rotated);
+        }
+    }
+
+    @Test
+    void deleteRemovesSegment() throws IOException {
+        try (WriteBehindJournal journal = new WriteBehindJournal(dir)) {
+            journal.append(bytes("a"));
+            Path rotated = journal.rotate();
+
+            journal.delete(rotated);
+
+            Assertions.assertThat(rotated).doesNotExist();
+            Assertions.assertThat(journal.previousSegments()).isEmpty();
+        }
+    }
+
+    @Test
+    void reopenSeesSegmentsOfPreviousRun() throws IOException {
+        Path first;
+        try (WriteBehindJournal journal = new WriteBehindJournal(dir)) {
+            journal.append(bytes("a"));
+            first = journal.rotate();
+            journal.append(bytes("b"));
+        }
+
+        try (WriteBehindJournal journal = new WriteBehindJournal(dir)) {
+            List<Path> previous = journal.previousSegments();
+
+            Assertions.assertThat(previous).hasSize(2).startsWith(first);
+            Assertions.assertThat(text(WriteBehindJournal.read(previous.get(1)))).containsExactly("b");
+        }
+    }
+
+    @Test
+    void readDropsPartialTrailingRecord() throws IOException {
+        Path segment = dir.resolve("segment-1.log");
+        Files.write(segment, bytes("a\n\nb\nhalf"));
+
+        Assertions.assertThat(text(WriteBehindJournal.read(segment))).containsExactly("a", "b");
+    }
+
+    @Test
+    void directoryInUseIsRejected() throws IOException {
+        try (WriteBehindJournal ignored = new WriteBehindJournal(dir)) {
+            Assertions.assertThatThrownBy(() -> new WriteBehindJournal(dir))
+                    .isInstanceOf(IOException.class)
+                    .hasMessageContaining("another instance");
+        }
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static List<String> text(List<byte[]> records) {
+        return records.stream().map(record -> new String(record, StandardCharsets.UTF_8)).toList();
+    }
+}
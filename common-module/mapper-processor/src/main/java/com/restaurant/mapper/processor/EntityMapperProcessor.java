@@ -0,0 +1,288 @@
+package com.restaurant.mapper.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The type Entity mapper processor.
+ * <p>
+ * Sinh {@code <TênMapper>Impl} cho mỗi type gắn {@code @GenerateMapper}: {@code toModel}, {@code toEntity}
+ * copy mọi property cùng tên, {@code merge} bỏ qua property null của model. Property đọc từ field (gồm cả class cha)
+ * nên dùng được với getter / setter do Lombok sinh.
+ */
+@SupportedAnnotationTypes(EntityMapperProcessor.GENERATE_MAPPER)
+public class EntityMapperProcessor extends AbstractProcessor {
+
+    /**
+     * The constant GENERATE_MAPPER.
+     */
+    static final String GENERATE_MAPPER = "com.restaurant.data.mapper.GenerateMapper";
+    /**
+     * The constant ENTITY_MAPPER.
+     */
+    static final String ENTITY_MAPPER = "com.restaurant.data.mapper.IEntityMapper";
+
+    private static final String IMPL_SUFFIX = "Impl";
+    private static final String INDENT = "    ";
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (!(element instanceof TypeElement mapper) || !isAbstractType(mapper)) {
+                    error(element, "@GenerateMapper chỉ dùng cho interface hoặc abstract class");
+                    continue;
+                }
+                try {
+                    generate(mapper);
+                } catch (IOException e) {
+                    error(mapper, "Can not write mapper implementation: " + e.getMessage());
+                }
+            }
+        }
+        return true;
+    }
+
+    private void generate(TypeElement mapper) throws IOException {
+        DeclaredType entityMapper = findEntityMapper(mapper.asType());
+        if (entityMapper == null || entityMapper.getTypeArguments().size() != 2
+                || entityMapper.getTypeArguments().stream().anyMatch(t -> t.getKind() != TypeKind.DECLARED)) {
+            error(mapper, "@GenerateMapper cần kế thừa " + ENTITY_MAPPER + "<Entity, Model> với kiểu cụ thể");
+            return;
+        }
+        TypeMirror entityType = entityMapper.getTypeArguments().get(0);
+        TypeMirror modelType = entityMapper.getTypeArguments().get(1);
+        Set<String> ignored = ignoredProperties(mapper);
+        Map<String, TypeMirror> entityProperties = properties(entityType, ignored);
+        Map<String, TypeMirror> modelProperties = properties(modelType, ignored);
+
+        String entity = erasure(entityType);
+        String model = erasure(modelType);
+        PackageElement packageElement = processingEnv.getElementUtils().getPackageOf(mapper);
+        String packageName = packageElement.isUnnamed() ? "" : packageElement.getQualifiedName().toString();
+        String implName = implName(mapper, packageName);
+
+        StringBuilder source = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+        source.append("@javax.annotation.processing.Generated(\"").append(getClass().getName()).append("\")\n")
+                .append("public class ").append(implName)
+                .append(mapper.getKind() == ElementKind.INTERFACE ? " implements " : " extends ")
+                .append(mapper.getQualifiedName()).append(" {\n\n");
+
+        source.append(INDENT).append("@Override\n")
+                .append(INDENT).append("public ").append(model).append(" toModel(").append(entity).append(" entity) {\n")
+                .append(INDENT).append(INDENT).append("if (entity == null) {\n")
+                .append(INDENT).append(INDENT).append(INDENT).append("return null;\n")
+                .append(INDENT).append(INDENT).append("}\n")
+                .append(INDENT).append(INDENT).append(model).append(" model = new ").append(model).append("();\n");
+        copy(source, mapper, entityProperties, "entity", modelProperties, "model", false);
+        source.append(INDENT).append(INDENT).append("return model;\n")
+                .append(INDENT).append("}\n\n");
+
+        source.append(INDENT).append("@Override\n")
+                .append(INDENT).append("public ").append(entity).append(" toEntity(").append(model).append(" model) {\n")
+                .append(INDENT).append(INDENT).append("if (model == null) {\n")
+                .append(INDENT).append(INDENT).append(INDENT).append("return null;\n")
+                .append(INDENT).append(INDENT).append("}\n")
+                .append(INDENT).append(INDENT).append(entity).append(" entity = new ").append(entity).append("();\n");
+        copy(source, mapper, modelProperties, "model", entityProperties, "entity", false);
+        source.append(INDENT).append(INDENT).append("return entity;\n")
+                .append(INDENT).append("}\n\n");
+
+        source.append(INDENT).append("@Override\n")
+                .append(INDENT).append("public void merge(").append(model).append(" model, ")
+                .append(entity).append(" entity) {\n")
+                .append(INDENT).append(INDENT).append("if (model == null || entity == null) {\n")
+                .append(INDENT).append(INDENT).append(INDENT).append("return;\n")
+                .append(INDENT).append(INDENT).append("}\n");
+        copy(source, mapper, modelProperties, "model", entityProperties, "entity", true);
+        source.append(INDENT).append("}\n")
+                .append("}\n");
+
+        String qualifiedName = packageName.isEmpty() ? implName : packageName + "." + implName;
+        JavaFileObject file = processingEnv.getFiler().createSourceFile(qualifiedName, mapper);
+        try (Writer writer = file.openWriter()) {
+            writer.write(source.toString());
+        }
+    }
+
+    /**
+     * Sinh lệnh copy các property có ở cả hai phía.
+     *
+     * @param skipNull bỏ qua giá trị null của nguồn (merge)
+     */
+    private void copy(StringBuilder source,
+                      TypeElement mapper,
+                      Map<String, TypeMirror> sourceProperties,
+                      String sourceVar,
+                      Map<String, TypeMirror> targetProperties,
+                      String targetVar,
+                      boolean skipNull) {
+        for (Map.Entry<String, TypeMirror> property : sourceProperties.entrySet()) {
+            String name = property.getKey();
+            TypeMirror sourceType = property.getValue();
+            TypeMirror targetType = targetProperties.get(name);
+            if (targetType == null) {
+                continue;
+            }
+            if (!processingEnv.getTypeUtils().isAssignable(sourceType, targetType)) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                        "Property '" + name + "' không map được: " + sourceType + " -> " + targetType, mapper);
+                continue;
+            }
+            String read = sourceVar + "." + getter(name, sourceType) + "()";
+            String write = targetVar + "." + setter(name, targetType) + "(" + read + ");\n";
+            boolean nullable = !sourceType.getKind().isPrimitive();
+            if (nullable && (skipNull || targetType.getKind().isPrimitive())) {
+                source.append(INDENT).append(INDENT).append("if (").append(read).append(" != null) {\n")
+                        .append(INDENT).append(INDENT).append(INDENT).append(write)
+                        .append(INDENT).append(INDENT).append("}\n");
+            } else {
+                source.append(INDENT).append(INDENT).append(write);
+            }
+        }
+    }
+
+    /**
+     * Property theo field không static / final của type và các class cha, field của class con được ưu tiên.
+     */
+    private Map<String, TypeMirror> properties(TypeMirror type, Set<String> ignored) {
+        Map<String, TypeMirror> properties = new LinkedHashMap<>();
+        List<TypeElement> hierarchy = new ArrayList<>();
+        TypeMirror current = type;
+        while (current.getKind() == TypeKind.DECLARED) {
+            TypeElement element = (TypeElement) ((DeclaredType) current).asElement();
+            if (element.getQualifiedName().contentEquals(Object.class.getName())) {
+                break;
+            }
+            hierarchy.add(0, element);
+            current = element.getSuperclass();
+        }
+        for (TypeElement element : hierarchy) {
+            for (VariableElement field : ElementFilter.fieldsIn(element.getEnclosedElements())) {
+                Set<Modifier> modifiers = field.getModifiers();
+                String name = field.getSimpleName().toString();
+                if (modifiers.contains(Modifier.STATIC) || modifiers.contains(Modifier.FINAL) || ignored.contains(name)) {
+                    continue;
+                }
+                properties.put(name, processingEnv.getTypeUtils().asMemberOf((DeclaredType) type, field));
+            }
+        }
+        return properties;
+    }
+
+    private DeclaredType findEntityMapper(TypeMirror type) {
+        for (TypeMirror supertype : processingEnv.getTypeUtils().directSupertypes(type)) {
+            if (supertype instanceof DeclaredType declared) {
+                TypeElement element = (TypeElement) declared.asElement();
+                if (element.getQualifiedName().contentEquals(ENTITY_MAPPER)) {
+                    return declared;
+                }
+                DeclaredType found = findEntityMapper(supertype);
+                if (found != null) {
+                    return found;
+                }
+            }
+        }
+        return null;
+    }
+
+    private Set<String> ignoredProperties(TypeElement mapper) {
+        Set<String> ignored = new HashSet<>();
+        for (AnnotationMirror annotation : mapper.getAnnotationMirrors()) {
+            TypeElement annotationType = (TypeElement) annotation.getAnnotationType().asElement();
+            if (!annotationType.getQualifiedName().contentEquals(GENERATE_MAPPER)) {
+                continue;
+            }
+            for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry
+                    : annotation.getElementValues().entrySet()) {
+                if (entry.getKey().getSimpleName().contentEquals("ignore")
+                        && entry.getValue().getValue() instanceof List<?> values) {
+                    for (Object value : values) {
+                        ignored.add(String.valueOf(((AnnotationValue) value).getValue()));
+                    }
+                }
+            }
+        }
+        return ignored;
+    }
+
+    private boolean isAbstractType(TypeElement type) {
+        return type.getKind() == ElementKind.INTERFACE
+                || (type.getKind() == ElementKind.CLASS && type.getModifiers().contains(Modifier.ABSTRACT));
+    }
+
+    private String erasure(TypeMirror type) {
+        return processingEnv.getTypeUtils().erasure(type).toString();
+    }
+
+    /**
+     * Cùng quy ước với {@code EntityMappers#implName}: class lồng nhau nối bằng '_'.
+     */
+    private static String implName(TypeElement mapper, String packageName) {
+        String qualifiedName = mapper.getQualifiedName().toString();
+        String relative = packageName.isEmpty() ? qualifiedName : qualifiedName.substring(packageName.length() + 1);
+        return relative.replace('.', '_') + IMPL_SUFFIX;
+    }
+
+    /**
+     * Getter theo quy ước JavaBean / Lombok; field boolean dạng {@code isXxx} giữ nguyên tên.
+     */
+    private static String getter(String name, TypeMirror type) {
+        if (type.getKind() == TypeKind.BOOLEAN) {
+            return hasIsPrefix(name) ? name : "is" + capitalize(name);
+        }
+        return "get" + capitalize(name);
+    }
+
+    private static String setter(String name, TypeMirror type) {
+        if (type.getKind() == TypeKind.BOOLEAN && hasIsPrefix(name)) {
+            return "set" + name.substring(2);
+        }
+        return "set" + capitalize(name);
+    }
+
+    private static boolean hasIsPrefix(String name) {
+        return name.length() > 2 && name.startsWith("is") && Character.isUpperCase(name.charAt(2));
+    }
+
+    private static String capitalize(String name) {
+        return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    }
+
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+}
@@ -0,0 +1,257 @@
+package com.restaurant.mapper.processor;
+
+import com.restaurant.data.mapper.EntityMappers;
+import com.restaurant.data.mapper.IEntityMapper;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+class EntityMapperProcessorTest {
+
+    private static final Map<String, String> SOURCES = Map.of(
+            "sample/BaseEntity.java", """
+                    package sample;
+
+                    public class BaseEntity {
+                        private Long id;
+
+                        public Long getId() { return id; }
+                        public void setId(Long id) { this.id = id; }
+                    }
+                    """,
+            "sample/ItemEntity.java", """
+                    package sample;
+
+                    public class ItemEntity extends BaseEntity {
+                        public static final String TABLE = "item";
+                        private String name;
+                        private int quantity;
+                        private boolean active;
+                        private String secret;
+                        private Long code;
+
+                        public String getName() { return name; }
+                        public void setName(String name) { this.name = name; }
+                        public int getQuantity() { return quantity; }
+                        public void setQuantity(int quantity) { this.quantity = quantity; }
+                        public boolean isActive() { return active; }
+                        public void setActive(boolean active) { this.active = active; }
+                        public String getSecret() { return secret; }
+                        public void setSecret(String secret) { this.secret = secret; }
+                        public Long getCode() { return code; }
+                        public void setCode(Long code) { this.code = code; }
+                    }
+                    """,
+            "sample/ItemModel.java", """
+                    package sample;
+
+                    public class ItemModel {
+                        private Long id;
+                        private String name;
+                        private Integer quantity;
+                        private Boolean active;
+                        private String secret;
+                        private String code;
+
+                        public Long getId() { return id; }
+                        public void setId(Long id) { this.id = id; }
+                        public String getName() { return name; }
+                        public void setName(String name) { this.name = name; }
+                        public Integer getQuantity() { return quantity; }
+                        public void setQuantity(Integer quantity) { this.quantity = quantity; }
+                        public Boolean getActive() { return active; }
+                        public void setActive(Boolean active) { this.active = active; }
+                        public String getSecret() { return secret; }
+                        public void setSecret(String secret) { this.secret = secret; }
+                        public String getCode() { return code; }
+                        public void setCode(String code) { this.code = code; }
+                    }
+                    """,
+            "sample/ItemMapper.java", """
+                    package sample;
+
+                    import com.restaurant.data.mapper.GenerateMapper;
+                    import com.restaurant.data.mapper.IEntityMapper;
+
+                    @GenerateMapper(ignore = "secret")
+                    public interface ItemMapper extends IEntityMapper<ItemEntity, ItemModel> {
+                    }
+                    """
+    );
+
+    @TempDir
+    static Path workDir;
+
+    private static ClassLoader classLoader;
+    private static List<Diagnostic<? extends JavaFileObject>> diagnostics;
+    private static IEntityMapper<Object, Object> mapper;
+
+    @BeforeAll
+    static void compile() throws Exception {
+        DiagnosticCollector<JavaFileObject> collector = new DiagnosticCollector<>();
+        Path classes = compile(SOURCES, collector);
+        diagnostics = collector.getDiagnostics();
+        Assertions.assertThat(errors(diagnostics)).isEmpty();
+        classLoader = new URLClassLoader(new URL[]{classes.toUri().toURL()}, EntityMapperProcessorTest.class.getClassLoader());
+        @SuppressWarnings("unchecked")
+        Class<? extends IEntityMapper<?, ?>> mapperType =
+                (Class<? extends IEntityMapper<?, ?>>) classLoader.loadClass("sample.ItemMapper");
+        @SuppressWarnings("unchecked")
+        IEntityMapper<Object, Object> loaded = (IEntityMapper<Object, Object>) EntityMappers.get(mapperType);
+        mapper = loaded;
+    }
+
+    @Test
+    void toModelCopiesPropertiesIncludingSuperclass() throws Exception {
+        Object entity = newInstance("sample.ItemEntity");
+        set(entity, "setId", Long.class, 7L);
+        set(entity, "setName", String.class, "Phở");
+        set(entity, "setQuantity", int.class, 3);
+        set(entity, "setActive", boolean.class, true);
+
+        Object model = mapper.toModel(entity);
+
+        Assertions.assertThat(get(model, "getId")).isEqualTo(7L);
+        Assertions.assertThat(get(model, "getName")).isEqualTo("Phở");
+        Assertions.assertThat(get(model, "getQuantity")).isEqualTo(3);
+        Assertions.assertThat(get(model, "getActive")).isEqualTo(true);
+        Assertions.assertThat(mapper.toModel(null)).isNull();
+    }
+
+    @Test
+    void toEntityGuardsNullIntoPrimitive() throws Exception {
+        Object model = newInstance("sample.ItemModel");
+        set(model, "setName", String.class, "Bún");
+
+        Object entity = mapper.toEntity(model);
+
+        Assertions.assertThat(get(entity, "getName")).isEqualTo("Bún");
+        Assertions.assertThat(get(entity, "getQuantity")).isEqualTo(0);
+        Assertions.assertThat(get(entity, "isActive")).isEqualTo(false);
+        Assertions.assertThat(mapper.toEntity(null)).isNull();
+    }
+
+    @Test
+    void mergeSkipsNullProperties() throws Exception {
+        Object entity = newInstance("sample.ItemEntity");
+        set(entity, "setId", Long.class, 7L);
+        set(entity, "setName", String.class, "Phở");
+        set(entity, "setQuantity", int.class, 3);
+        Object model = newInstance("sample.ItemModel");
+        set(model, "setQuantity", Integer.class, 5);
+
+        mapper.merge(model, entity);
+
+        Assertions.assertThat(get(entity, "getId")).isEqualTo(7L);
+        Assertions.assertThat(get(entity, "getName")).isEqualTo("Phở");
+        Assertions.assertThat(get(entity, "getQuantity")).isEqualTo(5);
+    }
+
+    @Test
+    void ignoredPropertyIsNotCopied() throws Exception {
+        Object entity = newInstance("sample.ItemEntity");
+        set(entity, "setSecret", String.class, "hash");
+        Object model = newInstance("sample.ItemModel");
+        set(model, "setSecret", String.class, "plain");
+
+        Assertions.assertThat(get(mapper.toModel(entity), "getSecret")).isNull();
+        Assertions.assertThat(get(mapper.toEntity(model), "getSecret")).isNull();
+        mapper.merge(model, entity);
+        Assertions.assertThat(get(entity, "getSecret")).isEqualTo("hash");
+    }
+
+    @Test
+    void incompatiblePropertyIsSkippedWithWarning() throws Exception {
+        Object entity = newInstance("sample.ItemEntity");
+        set(entity, "setCode", Long.class, 99L);
+
+        Assertions.assertThat(get(mapper.toModel(entity), "getCode")).isNull();
+        Assertions.assertThat(diagnostics)
+                .filteredOn(diagnostic -> diagnostic.getKind() == Diagnostic.Kind.WARNING)
+                .extracting(diagnostic -> diagnostic.getMessage(Locale.ROOT))
+                .anyMatch(message -> message.contains("'code'"));
+    }
+
+    @Test
+    void concreteClassIsRejected(@TempDir Path dir) throws IOException {
+        DiagnosticCollector<JavaFileObject> collector = new DiagnosticCollector<>();
+        compile(dir, Map.of("sample/BadMapper.java", """
+                package sample;
+
+                @com.restaurant.data.mapper.GenerateMapper
+                public class BadMapper {
+                }
+                """), collector);
+
+        Assertions.assertThat(errors(collector.getDiagnostics()))
+                .anyMatch(message -> message.contains("@GenerateMapper"));
+    }
+
+    private static Path compile(Map<String, String> sources, DiagnosticCollector<JavaFileObject> collector)
+            throws IOException {
+        return compile(workDir, sources, collector);
+    }
+
+    private static Path compile(Path dir, Map<String, String> sources, DiagnosticCollector<JavaFileObject> collector)
+            throws IOException {
+        Path sourceDir = dir.resolve("src");
+        Path classes = Files.createDirectories(dir.resolve("classes"));
+        List<Path> files = new ArrayList<>();
+        for (Map.Entry<String, String> source : sources.entrySet()) {
+            Path file = sourceDir.resolve(source.getKey());
+            Files.createDirectories(file.getParent());
+            Files.writeString(file, source.getValue(), StandardCharsets.UTF_8);
+            files.add(file);
+        }
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(collector, Locale.ROOT,
+                StandardCharsets.UTF_8)) {
+            JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, collector,
+                    List.of("-classpath", System.getProperty("java.class.path"), "-d", classes.toString()),
+                    null, fileManager.getJavaFileObjectsFromPaths(files));
+            task.setProcessors(List.of(new EntityMapperProcessor()));
+            task.call();
+        }
+        return classes;
+    }
+
+    private static List<String> errors(List<Diagnostic<? extends JavaFileObject>> diagnostics) {
+        return diagnostics.stream()
+                .filter(diagnostic -> diagnostic.getKind() == Diagnostic.Kind.ERROR)
+                .map(diagnostic -> diagnostic.getMessage(Locale.ROOT))
+                .toList();
+    }
+
+    private static Object newInstance(String className) throws ReflectiveOperationException {
+        return classLoader.loadClass(className).getDeclaredConstructor().newInstance();
+    }
+
+    private static void set(Object target, String setter, Class<?> type, Object value)
+            throws ReflectiveOperationException {
+        target.getClass().getMethod(setter, type).invoke(target, value);
+    }
+
+    private static Object get(Object target, String getter) throws ReflectiveOperationException {
+        Method method = target.getClass().getMethod(getter);
+        return method.invoke(target);
+    }
+}
@@ -0,0 +1,216 @@
+package com.restaurant.utils;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.deser.DeserializationProblemHandler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The type Mapper util benchmark.
+ * <p>
+ * So sánh read / write / convert của {@link MapperUtil} (reader, writer, type cache theo class) với một
+ * {@link ObjectMapper} cấu hình như MapperUtil trước khi có cache (SimpleDateFormat, resolve type ở mỗi lời gọi).
+ * Chạy bằng {@code gradle :common-module:utils:jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperUtilBenchmark {
+
+    private static final ObjectMapper UNCACHED = new ObjectMapper()
+            .configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false)
+            .configure(SerializationFeature.FAIL_ON_EMPTY_BEANS, false)
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+            .addHandler(
+                    new DeserializationProblemHandler() {
+                        @Override
+                        public Object handleWeirdStringValue(DeserializationContext context, Class<?> targetType, String valueToConvert, String failureMsg) {
+                            return null;
+                        }
+
+                        @Override
+                        public Object handleWeirdNumberValue(DeserializationContext context, Class<?> targetType, Number valueToConvert, String failureMsg) {
+                            return null;
+                        }
+                    }
+            )
+            .setDateFormat(new SimpleDateFormat(MapperUtil.DATE_PATTERN))
+            .findAndRegisterModules();
+
+    private Sample sample;
+    private byte[] json;
+    private Map<String, Object> values;
+
+    /**
+     * Setup.
+     */
+    @Setup
+    public void setup() {
+        sample = new Sample();
+        sample.setId(42L);
+        sample.setName("Bàn số 12");
+        sample.setPrice(new BigDecimal("125000.50"));
+        sample.setQuantity(3);
+        sample.setActive(true);
+        sample.setCreatedAt(new Date());
+        sample.setTags(List.of("vip", "window", "smoking"));
+        json = MapperUtil.serialize(sample);
+        values = MapperUtil.convertValue(sample, new TypeReference<>() {
+        });
+    }
+
+    /**
+     * Read cached.
+     *
+     * @return the sample
+     */
+    @Benchmark
+    public Sample readCached() {
+        return MapperUtil.readValue(json, Sample.class);
+    }
+
+    /**
+     * Read uncached.
+     *
+     * @return the sample
+     * @throws IOException the io exception
+     */
+    @Benchmark
+    public Sample readUncached() throws IOException {
+        return UNCACHED.readValue(json, Sample.class);
+    }
+
+    /**
+     * Write cached.
+     *
+     * @return the bytes
+     */
+    @Benchmark
+    public byte[] writeCached() {
+        return MapperUtil.serialize(sample);
+    }
+
+    /**
+     * Write uncached.
+     *
+     * @return the bytes
+     * @throws IOException the io exception
+     */
+    @Benchmark
+    public byte[] writeUncached() throws IOException {
+        return UNCACHED.writeValueAsBytes(sample);
+    }
+
+    /**
+     * Convert cached.
+     *
+     * @return the sample
+     */
+    @Benchmark
+    public Sample convertCached() {
+        return MapperUtil.convertValue(values, Sample.class);
+    }
+
+    /**
+     * Convert uncached.
+     *
+     * @return the sample
+     */
+    @Benchmark
+    public Sample convertUncached() {
+        return UNCACHED.convertValue(values, Sample.class);
+    }
+
+    /**
+     * The type Sample.
+     */
+    public static class Sample {
+
+        private Long id;
+        private String name;
+        private BigDecimal price;
+        private Integer quantity;
+        private boolean active;
+        private Date createdAt;
+        private List<String> tags;
+
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public BigDecimal getPrice() {
+            return price;
+        }
+
+        public void setPrice(BigDecimal price) {
+            this.price = price;
+        }
+
+        public Integer getQuantity() {
+            return quantity;
+        }
+
+        public void setQuantity(Integer quantity) {
+            this.quantity = quantity;
+        }
+
+        public boolean isActive() {
+            return active;
+        }
+
+        public void setActive(boolean active) {
+            this.active = active;
+        }
+
+        public Date getCreatedAt() {
+            return createdAt;
+        }
+
+        public void setCreatedAt(Date createdAt) {
+            this.createdAt = createdAt;
+        }
+
+        public List<String> getTags() {
+            return tags;
+        }
+
+        public void setTags(List<String> tags) {
+            this.tags = tags;
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.restaurant.utils;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.type.CollectionType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache ObjectReader / ObjectWriter / JavaType theo type của {@link MapperUtil#mapper}, để mỗi lời gọi không phải
+ * resolve lại type và serializer gốc. Cache theo class dùng {@link ClassValue} nên không giữ class đã unload.
+ * <p>
+ * Mapper được đọc lúc build reader / writer (không giữ trong field) vì class này có thể được khởi tạo
+ * trong lúc {@link MapperUtil} còn đang khởi tạo field {@code mapper}.
+ */
+final class MapperSupport {
+
+    /**
+     * System property bật Blackbird (cần jackson-module-blackbird trên classpath của service).
+     */
+    static final String BLACKBIRD_PROPERTY = "mapper.blackbird";
+
+    private static final Logger log = LoggerFactory.getLogger(MapperSupport.class);
+    private static final String BLACKBIRD_MODULE = "com.fasterxml.jackson.module.blackbird.BlackbirdModule";
+
+    /**
+     * Cache dùng chung cho {@link MapperUtil}.
+     */
+    static final MapperSupport SHARED = new MapperSupport();
+
+    private final ClassValue<JavaType> types = new ClassValue<>() {
+        @Override
+        protected JavaType computeValue(Class<?> type) {
+            return mapper().constructType(type);
+        }
+    };
+    private final ClassValue<CollectionType> listTypes = new ClassValue<>() {
+        @Override
+        protected CollectionType computeValue(Class<?> type) {
+            return mapper().getTypeFactory().constructCollectionType(List.class, type);
+        }
+    };
+    private final ClassValue<ObjectReader> readers = new ClassValue<>() {
+        @Override
+        protected ObjectReader computeValue(Class<?> type) {
+            return mapper().readerFor(types.get(type));
+        }
+    };
+    private final ClassValue<ObjectWriter> writers = new ClassValue<>() {
+        @Override
+        protected ObjectWriter computeValue(Class<?> type) {
+            return mapper().writerFor(types.get(type));
+        }
+    };
+    private final ClassValue<ObjectWriter> streamWriters = new ClassValue<>() {
+        @Override
+        protected ObjectWriter computeValue(Class<?> type) {
+            return writers.get(type).without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        }
+    };
+    private final Map<Type, JavaType> genericTypes = new ConcurrentHashMap<>();
+    private final Map<JavaType, ObjectReader> genericReaders = new ConcurrentHashMap<>();
+
+    private MapperSupport() {
+    }
+
+    private static ObjectMapper mapper() {
+        return MapperUtil.mapper;
+    }
+
+    JavaType type(Class<?> type) {
+        return types.get(type);
+    }
+
+    JavaType type(Type type) {
+        return genericTypes.computeIfAbsent(type, t -> mapper().constructType(t));
+    }
+
+    CollectionType listType(Class<?> type) {
+        return listTypes.get(type);
+    }
+
+    ObjectReader reader(Class<?> type) {
+        return readers.get(type);
+    }
+
+    ObjectReader reader(JavaType type) {
+        return genericReaders.computeIfAbsent(type, t -> mapper().readerFor(t));
+    }
+
+    /**
+     * Writer theo class runtime của value, value null dùng writer mặc định.
+     */
+    ObjectWriter writer(Object value) {
+        return value == null ? writers.get(Object.class) : writers.get(value.getClass());
+    }
+
+    /**
+     * Writer ghi vào stream của caller: không đóng stream khi ghi xong.
+     */
+    ObjectWriter streamWriter(Class<?> type) {
+        return streamWriters.get(type == null ? Object.class : type);
+    }
+
+    /**
+     * Module (de)serialize {@link Date} bằng {@link DateTimeFormatter} (thread-safe), thay cho
+     * SimpleDateFormat mà Jackson phải clone mỗi lần dùng. Vẫn nhận timestamp dạng số khi đọc.
+     */
+    static Module dateModule(DateTimeFormatter formatter) {
+        ZoneId zone = ZoneId.systemDefault();
+        SimpleModule module = new SimpleModule("MapperUtilDateModule");
+        module.addSerializer(Date.class, new JsonSerializer<>() {
+            @Override
+            public void serialize(Date value, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+                gen.writeString(formatter.format(LocalDateTime.ofInstant(value.toInstant(), zone)));
+            }
+        });
+        module.addDeserializer(Date.class, new JsonDeserializer<>() {
+            @Override
+            public Date deserialize(JsonParser p, DeserializationContext context) throws IOException {
+                if (p.hasToken(JsonToken.VALUE_NUMBER_INT)) {
+                    return new Date(p.getLongValue());
+                }
+                String text = p.getValueAsString();
+                if (text == null || text.isBlank()) {
+                    return null;
+                }
+                try {
+                    return Date.from(LocalDateTime.parse(text.trim(), formatter).atZone(zone).toInstant());
+                } catch (DateTimeException e) {
+                    return (Date) context.handleWeirdStringValue(Date.class, text, e.getMessage());
+                }
+            }
+        });
+        return module;
+    }
+
+    /**
+     * Đăng ký Blackbird (accessor sinh bằng LambdaMetafactory thay cho reflection) khi bật
+     * {@link #BLACKBIRD_PROPERTY} và module có trên classpath.
+     */
+    static ObjectMapper registerOptionalModules(ObjectMapper mapper) {
+        if (!Boolean.getBoolean(BLACKBIRD_PROPERTY)) {
+            return mapper;
+        }
+        try {
+            Class<?> moduleClass = Class.forName(BLACKBIRD_MODULE, true, MapperSupport.class.getClassLoader());
+            mapper.registerModule((Module) moduleClass.getDeclaredConstructor().newInstance());
+            log.info("Registered Jackson Blackbird module");
+        } catch (ReflectiveOperationException | LinkageError e) {
+            log.warn("{}=true but Jackson Blackbird module is not available: {}", BLACKBIRD_PROPERTY, e.toString());
+        }
+        return mapper;
+    }
+}
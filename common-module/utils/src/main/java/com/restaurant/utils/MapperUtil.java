@@ -1,22 +1,41 @@
 package com.restaurant.utils;
 
+import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.core.util.JsonRecyclerPools;
 import com.fasterxml.jackson.databind.*;
 import com.fasterxml.jackson.databind.deser.DeserializationProblemHandler;
 import com.fasterxml.jackson.databind.type.CollectionType;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedOutputStream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
+import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Stream;
 
 
 /**
  * The interface Mapper util.
+ * <p>
+ * ObjectReader / ObjectWriter / JavaType được cache theo type, không resolve lại ở mỗi lời gọi.
+ * {@link java.util.Date} được format bằng {@link #dateTimeFormatter} (thread-safe).
+ * Bật Jackson Blackbird bằng system property {@code -Dmapper.blackbird=true}
+ * và thêm {@code com.fasterxml.jackson.module:jackson-module-blackbird} vào service.
+ * <p>
+ * Buffer nội bộ của Jackson lấy từ pool dùng chung giữa các thread (không phải ThreadLocal), để các luồng
+ * virtual thread của data factory cũng tái sử dụng được. Các hàm {@code writeValue(..)} / {@code writeList(..)}
+ * ghi thẳng vào đích, không tạo byte[] trung gian.
  */
 public interface MapperUtil {
 
@@ -24,15 +43,30 @@ public interface MapperUtil {
      * The constant logback.
      */
     Logger log = LoggerFactory.getLogger(MapperUtil.class);
+    /**
+     * The constant DATE_PATTERN.
+     */
+    String DATE_PATTERN = "yyyy-MM-dd HH:mm:ss";
+
+    /**
+     * The constant dateTimeFormatter, dùng chung được giữa các thread.
+     */
+    DateTimeFormatter dateTimeFormatter = DateTimeFormatter.ofPattern(DATE_PATTERN);
+
     /**
      * The constant dateFormat.
+     *
+     * @deprecated SimpleDateFormat không thread-safe, mapper không còn dùng; dùng {@link #dateTimeFormatter}.
      */
-    DateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+    @Deprecated
+    DateFormat dateFormat = new SimpleDateFormat(DATE_PATTERN);
 
     /**
      * Object mapper
      */
-    ObjectMapper mapper = new ObjectMapper()
+    ObjectMapper mapper = MapperSupport.registerOptionalModules(new ObjectMapper(JsonFactory.builder()
+            .recyclerPool(JsonRecyclerPools.sharedConcurrentDequePool())
+            .build())
             .configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false)
             .configure(SerializationFeature.FAIL_ON_EMPTY_BEANS, false)
             .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
@@ -49,8 +83,8 @@ public interface MapperUtil {
                         }
                     }
             )
-            .setDateFormat(dateFormat)
-            .findAndRegisterModules();
+            .registerModule(MapperSupport.dateModule(dateTimeFormatter))
+            .findAndRegisterModules());
 
 
     /**
@@ -61,7 +95,7 @@ public interface MapperUtil {
      * @throws JsonProcessingException the json processing exception
      */
     static String writeValueAsString(Object value) throws JsonProcessingException {
-        return mapper.writeValueAsString(value);
+        return MapperSupport.SHARED.writer(value).writeValueAsString(value);
     }
 
     /**
@@ -73,7 +107,7 @@ public interface MapperUtil {
      */
     static String writeValueAsStringOrDefault(Object value, String defaultString) {
         try {
-            return mapper.writeValueAsString(value);
+            return MapperSupport.SHARED.writer(value).writeValueAsString(value);
         } catch (JsonProcessingException e) {
             return defaultString;
         }
@@ -87,7 +121,7 @@ public interface MapperUtil {
      */
     public static String writeValueAsStringOrDefault(Object value) {
         try {
-            return mapper.writeValueAsString(value);
+            return MapperSupport.SHARED.writer(value).writeValueAsString(value);
         } catch (JsonProcessingException e) {
             return "";
         }
@@ -102,7 +136,7 @@ public interface MapperUtil {
      * @return value t
      */
     public static <T> T convertValue(Object fromValue, Class<T> toValueType) {
-        return mapper.convertValue(fromValue, toValueType);
+        return mapper.convertValue(fromValue, MapperSupport.SHARED.type(toValueType));
     }
 
     /**
@@ -114,7 +148,7 @@ public interface MapperUtil {
      * @return value t
      */
     static <T> T convertValue(Object fromValue, TypeReference<T> typeReference) {
-        return mapper.convertValue(fromValue, typeReference);
+        return mapper.convertValue(fromValue, MapperSupport.SHARED.type(typeReference.getType()));
     }
 
     /**
@@ -127,7 +161,7 @@ public interface MapperUtil {
      */
     static <T> T readValue(String fromStringValue, Class<T> toValueType) {
         try {
-            return mapper.readValue(fromStringValue, toValueType);
+            return MapperSupport.SHARED.reader(toValueType).readValue(fromStringValue);
         } catch (JsonProcessingException e) {
             log.error("Read value error. Error: ", e);
             return null;
@@ -144,7 +178,8 @@ public interface MapperUtil {
      */
     static <T> T readValue(String fromStringValue, TypeReference<T> toValueType) {
         try {
-            return mapper.readValue(fromStringValue, toValueType);
+            return MapperSupport.SHARED.reader(MapperSupport.SHARED.type(toValueType.getType()))
+                    .readValue(fromStringValue);
         } catch (JsonProcessingException e) {
             log.error("Read value error. Error: {}", e.getMessage());
             return null;
@@ -161,7 +196,7 @@ public interface MapperUtil {
      */
     static <T> T readValue(byte[] fromStringValue, Class<T> toValueType) {
         try {
-            return mapper.readValue(fromStringValue, toValueType);
+            return MapperSupport.SHARED.reader(toValueType).readValue(fromStringValue);
         } catch (Exception e) {
             log.error("Read value error. Error: {}", e.getMessage(), e);
             return null;
@@ -196,7 +231,7 @@ public interface MapperUtil {
         if (fromValue == null) {
             return defaultValue;
         }
-        return mapper.convertValue(fromValue, toValueType);
+        return mapper.convertValue(fromValue, MapperSupport.SHARED.type(toValueType));
     }
 
     /**
@@ -209,7 +244,8 @@ public interface MapperUtil {
      * @return list after convert
      */
     static <S, T> List<T> mapList(List<S> source, Class<T> targetClass) {
-        return source.stream().map(e -> mapper.convertValue(e, targetClass)).toList();
+        JavaType targetType = MapperSupport.SHARED.type(targetClass);
+        return source.stream().<T>map(e -> mapper.convertValue(e, targetType)).toList();
     }
 
     /**
@@ -220,7 +256,7 @@ public interface MapperUtil {
      * @throws JsonProcessingException the json processing exception
      */
     static String toString(Object serializableObject) throws JsonProcessingException {
-        return mapper.writeValueAsString(serializableObject);
+        return MapperSupport.SHARED.writer(serializableObject).writeValueAsString(serializableObject);
     }
 
     /**
@@ -230,13 +266,94 @@ public interface MapperUtil {
      * @return byte[] byte [ ]
      */
     static byte[] serialize(Object obj) {
-        ByteArrayOutputStream os = new ByteArrayOutputStream();
         try {
-            mapper.writeValue(os, obj);
+            return MapperSupport.SHARED.writer(obj).writeValueAsBytes(obj);
         } catch (IOException e) {
+            log.error("Serialize error. Type: {}, Error: {}", obj.getClass().getName(), e.getMessage(), e);
             return new byte[0];
         }
-        return os.toByteArray();
+    }
+
+    /**
+     * Write value thẳng vào output stream, stream không bị đóng.
+     *
+     * @param value the value
+     * @param out   the out
+     * @throws IOException the io exception
+     */
+    static void writeValue(Object value, OutputStream out) throws IOException {
+        MapperSupport.SHARED.streamWriter(value == null ? null : value.getClass()).writeValue(out, value);
+    }
+
+    /**
+     * Write value thẳng vào channel, channel không bị đóng.
+     *
+     * @param value   the value
+     * @param channel the channel
+     * @throws IOException the io exception
+     */
+    static void writeValue(Object value, WritableByteChannel channel) throws IOException {
+        writeValue(value, Channels.newOutputStream(channel));
+    }
+
+    /**
+     * Write value vào buffer từ position hiện tại.
+     *
+     * @param value  the value
+     * @param buffer the buffer
+     * @return số byte đã ghi
+     * @throws IOException khi lỗi serialize hoặc buffer không đủ chỗ
+     */
+    static int writeValue(Object value, ByteBuffer buffer) throws IOException {
+        int start = buffer.position();
+        try {
+            writeValue(value, new ByteBufferBackedOutputStream(buffer));
+        } catch (BufferOverflowException e) {
+            buffer.position(start);
+            throw new IOException("Buffer too small, remaining: " + (buffer.limit() - start), e);
+        }
+        return buffer.position() - start;
+    }
+
+    /**
+     * Write list dạng JSON array, từng phần tử được ghi lần lượt qua một JsonGenerator
+     * (không dựng cả list thành byte[] hay String). Stream không bị đóng.
+     *
+     * @param items       the items
+     * @param elementType class của phần tử, null nếu không cố định
+     * @param out         the out
+     * @throws IOException the io exception
+     */
+    static void writeList(Iterator<?> items, Class<?> elementType, OutputStream out) throws IOException {
+        try (SequenceWriter sequence = MapperSupport.SHARED.streamWriter(elementType).writeValuesAsArray(out)) {
+            while (items.hasNext()) {
+                sequence.write(items.next());
+            }
+        }
+    }
+
+    /**
+     * Write list dạng JSON array.
+     *
+     * @param items       the items
+     * @param elementType class của phần tử, null nếu không cố định
+     * @param out         the out
+     * @throws IOException the io exception
+     */
+    static void writeList(Iterable<?> items, Class<?> elementType, OutputStream out) throws IOException {
+        writeList(items.iterator(), elementType, out);
+    }
+
+    /**
+     * Write stream dạng JSON array, đọc stream đến đâu ghi đến đó. Stream đầu vào không bị đóng.
+     *
+     * @param items       the items
+     * @param elementType class của phần tử, null nếu không cố định
+     * @param out         the out
+     * @throws IOException the io exception
+     */
+    static void writeList(Stream<?> items, Class<?> elementType, OutputStream out) throws IOException {
+        writeList(items.iterator(), elementType, out);
     }
 
     /**
@@ -263,7 +380,7 @@ public interface MapperUtil {
      * @throws IOException exception
      */
     static <T> T deserialize(byte[] data, Class<T> clazz) throws IOException {
-        return mapper.readValue(data, clazz);
+        return MapperSupport.SHARED.reader(clazz).readValue(data);
     }
 
     /**
@@ -274,7 +391,7 @@ public interface MapperUtil {
      * @return the type factory to convert list
      */
     static <T> CollectionType getTypeFactoryToConvertList(Class<T> type) {
-        return mapper.getTypeFactory().constructCollectionType(List.class, type);
+        return MapperSupport.SHARED.listType(type);
     }
 
     /**